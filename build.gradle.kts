@@ -8,6 +8,25 @@ plugins {
 group = "org.wx"
 version = "1.1.1"
 
+// benchmark 和 scaleTest 共用的 headless 轻量 PSI fixture
+// 编译和运行都复用 test 的 classpath(IDE + 测试框架)
+val fixture: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.test.get().compileClasspath
+    runtimeClasspath += sourceSets.main.get().output + sourceSets.test.get().runtimeClasspath
+}
+
+// JMH 基准测试: ./gradlew benchmark
+val benchmark: SourceSet by sourceSets.creating {
+    compileClasspath += fixture.output + fixture.compileClasspath
+    runtimeClasspath += fixture.output + fixture.runtimeClasspath
+}
+
+// 大规模工程的端到端测试, 带耗时和内存预算: check 只跑 1k (./gradlew scaleTest), 10k 和 50k 用 ./gradlew scaleTestLarge
+val scaleTest: SourceSet by sourceSets.creating {
+    compileClasspath += fixture.output + fixture.compileClasspath
+    runtimeClasspath += fixture.output + fixture.runtimeClasspath
+}
+
 repositories {
     mavenCentral()
     intellijPlatform {
@@ -21,11 +40,63 @@ dependencies {
     intellijPlatform {
         create("IC", "2023.2.5")
         testFramework(org.jetbrains.intellij.platform.gradle.TestFrameworkType.Platform)
+        testFramework(org.jetbrains.intellij.platform.gradle.TestFrameworkType.Plugin.Java)
         bundledPlugin("com.intellij.java")
+        // 可选依赖, 只用于按 ref 的差异限定范围
+        bundledPlugin("Git4Idea")
 
         // Add necessary plugin dependencies for compilation here, example:
         // bundledPlugin("com.intellij.java")
     }
+
+    testImplementation("junit:junit:4.13.2")
+    "benchmarkImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "benchmarkAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+intellijPlatformTesting {
+    testIde {
+        register("benchmark") {
+            task {
+                description = "Runs the JMH benchmarks for SerialVersionUIDBuilder and the bulk pipeline."
+                group = "verification"
+                testClassesDirs = benchmark.output.classesDirs
+                classpath += benchmark.runtimeClasspath
+                useJUnit()
+                // 例如 ./gradlew benchmark -Pjmh.include=Wide
+                systemProperty("jmh.include", providers.gradleProperty("jmh.include").getOrElse(".*"))
+                outputs.upToDateWhen { false }
+            }
+        }
+        register("scaleTest") {
+            task {
+                description = "Runs the bulk pipeline on a synthetic 1k class project against wall-time, heap, write-command and EDT budgets."
+                group = "verification"
+                testClassesDirs = scaleTest.output.classesDirs
+                classpath += scaleTest.runtimeClasspath
+                useJUnit()
+                maxHeapSize = "1g"
+                // 例如 ./gradlew scaleTest -Pscale.sizes=1000,10000
+                systemProperty("scale.sizes", providers.gradleProperty("scale.sizes").getOrElse("1000"))
+                // 较慢的机器按比例放宽耗时预算, 例如 -Pscale.timeFactor=2
+                systemProperty("scale.timeFactor", providers.gradleProperty("scale.timeFactor").getOrElse("1"))
+                outputs.upToDateWhen { false }
+            }
+        }
+        register("scaleTestLarge") {
+            task {
+                description = "Runs the bulk pipeline on synthetic 10k/50k class projects against wall-time, heap, write-command and EDT budgets."
+                group = "verification"
+                testClassesDirs = scaleTest.output.classesDirs
+                classpath += scaleTest.runtimeClasspath
+                useJUnit()
+                maxHeapSize = "4g"
+                systemProperty("scale.sizes", providers.gradleProperty("scale.sizes").getOrElse("10000,50000"))
+                systemProperty("scale.timeFactor", providers.gradleProperty("scale.timeFactor").getOrElse("1"))
+                outputs.upToDateWhen { false }
+            }
+        }
+    }
 }
 
 
@@ -46,6 +117,10 @@ intellijPlatform {
 }
 
 tasks {
+    named("check") {
+        dependsOn("scaleTest")
+    }
+
     // Set the JVM compatibility versions
     withType<JavaCompile> {
         sourceCompatibility = "17"
@@ -0,0 +1,54 @@
+package org.wx.quickserializableimpl;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.EdtTestUtil;
+import com.intellij.testFramework.fixtures.JavaCodeInsightTestFixture;
+
+import java.util.Map;
+
+/**
+ * 基准测试用到的工程操作, fixture 本身由 {@link HeadlessFixture} 提供.
+ * JMH 以 forks(0) 运行在同一个 JVM 里, 各个 benchmark 的 State 都从这里拿 Project.
+ *
+ * @author wuxin
+ * @date 2026/10/17 15:51:09
+ *
+ */
+final class BenchmarkFixture {
+
+    private BenchmarkFixture() {
+    }
+
+    static JavaCodeInsightTestFixture get() {
+        return HeadlessFixture.get();
+    }
+
+    static void tearDown() {
+        HeadlessFixture.tearDown();
+    }
+
+    static Project project() {
+        return HeadlessFixture.project();
+    }
+
+    /**
+     * 把源码加入工程, 已经存在的文件跳过
+     */
+    static void addSources(Map<String, String> sources) {
+        JavaCodeInsightTestFixture f = get();
+        EdtTestUtil.runInEdtAndWait(() -> sources.forEach((path, text) -> {
+            if (f.getTempDirFixture().getFile(path) == null) {
+                f.addFileToProject(path, text);
+            }
+        }));
+    }
+
+    static PsiClass findClass(String qualifiedName) {
+        Project project = project();
+        return ReadAction.compute(() -> JavaPsiFacade.getInstance(project).findClass(qualifiedName, GlobalSearchScope.projectScope(project)));
+    }
+}
@@ -0,0 +1,240 @@
+package org.wx.quickserializableimpl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 基准测试用的 Java 源码生成器, 返回 相对路径 -> 源码.
+ * 生成的代码只依赖 JDK, 既能放进 PSI fixture, 也能直接用 javac 编译后和 ObjectStreamClass 对比.
+ *
+ * @author wuxin
+ * @date 2026/10/17 15:32:44
+ *
+ */
+final class BenchmarkSources {
+
+    static final String SMALL_CLASS = "bench.small.SmallEntity";
+
+    static final String WIDE_CLASS = "bench.wide.WideDto";
+
+    static final String DEEP_CLASS = "bench.deep.Level" + BenchmarkSources.DEEP_DEPTH;
+
+    static final int WIDE_MEMBERS = 150;
+
+    static final int DEEP_DEPTH = 20;
+
+    private BenchmarkSources() {
+    }
+
+    static Map<String, String> forShape(String shape) {
+        return switch (shape) {
+            case "small" -> small();
+            case "wide" -> wide();
+            case "deep" -> deep();
+            default -> throw new IllegalArgumentException(shape);
+        };
+    }
+
+    static String classNameOf(String shape) {
+        return switch (shape) {
+            case "small" -> SMALL_CLASS;
+            case "wide" -> WIDE_CLASS;
+            case "deep" -> DEEP_CLASS;
+            default -> throw new IllegalArgumentException(shape);
+        };
+    }
+
+    /**
+     * 几个字段, 一个构造函数, 几个方法
+     */
+    static Map<String, String> small() {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("bench/small/SmallEntity.java", """
+                package bench.small;
+
+                public class SmallEntity implements java.io.Serializable {
+                    private long id;
+                    private String name;
+                    protected int version;
+
+                    public SmallEntity() {
+                    }
+
+                    public long getId() {
+                        return id;
+                    }
+
+                    public void setName(String name) {
+                        this.name = name;
+                    }
+                }
+                """);
+        return files;
+    }
+
+    /**
+     * 大量字段和重载方法, 类似生成的 DTO / Builder
+     */
+    static Map<String, String> wide() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package bench.wide;\n\n");
+        sb.append("import java.util.List;\nimport java.util.Map;\n\n");
+        sb.append("public class WideDto implements java.io.Serializable {\n");
+        sb.append("    private static final Map<String, String> CACHE = new java.util.HashMap<>();\n");
+        for (int i = 0; i < WIDE_MEMBERS; i++) {
+            switch (i % 4) {
+                case 0 -> sb.append("    private String field").append(i).append(";\n");
+                case 1 -> sb.append("    public int field").append(i).append(";\n");
+                case 2 -> sb.append("    protected List<String> field").append(i).append(";\n");
+                default -> sb.append("    public static final String CONST").append(i).append(" = \"c").append(i).append("\";\n");
+            }
+        }
+        sb.append("    public WideDto() {\n    }\n");
+        sb.append("    public WideDto(String a, int b) {\n    }\n");
+        sb.append("    protected WideDto(List<String> a, Map<String, Integer> b, long[] c) {\n    }\n");
+        sb.append("    public void put(int v) {\n    }\n");
+        sb.append("    public void put(long v) {\n    }\n");
+        sb.append("    public void put(String v) {\n    }\n");
+        sb.append("    public void put(String[] v) {\n    }\n");
+        sb.append("    public void put(List<String> v) {\n    }\n");
+        sb.append("    public void put(Map<String, Integer> v) {\n    }\n");
+        for (int i = 0; i < WIDE_MEMBERS; i++) {
+            sb.append("    public WideDto withField").append(i).append("(String v, int i, long[] l) {\n        return this;\n    }\n");
+            sb.append("    public void set").append(i).append("(int v, String[] a, List<Map<String, Integer>> m) {\n    }\n");
+            sb.append("    public String value").append(i).append("() {\n        return null;\n    }\n");
+        }
+        sb.append("}\n");
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("bench/wide/WideDto.java", sb.toString());
+        return files;
+    }
+
+    /**
+     * 很深的继承链, 每一层都实现一个带父接口的接口
+     */
+    static Map<String, String> deep() {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("bench/deep/Level0Api.java", """
+                package bench.deep;
+
+                public interface Level0Api extends java.io.Serializable, Comparable<Level0Api> {
+                }
+                """);
+        files.put("bench/deep/Level0.java", """
+                package bench.deep;
+
+                public abstract class Level0 implements Level0Api {
+                    protected long id;
+                }
+                """);
+        for (int i = 1; i <= DEEP_DEPTH; i++) {
+            files.put("bench/deep/Level" + i + "Api.java",
+                    "package bench.deep;\n\npublic interface Level" + i + "Api extends Level" + (i - 1) + "Api, Cloneable {\n}\n");
+            String modifier = i == DEEP_DEPTH ? "public" : "public abstract";
+            files.put("bench/deep/Level" + i + ".java",
+                    "package bench.deep;\n\n" + modifier + " class Level" + i + " extends Level" + (i - 1)
+                            + " implements Level" + i + "Api {\n"
+                            + "    protected String level" + i + ";\n"
+                            + "    public Level" + i + "() {\n    }\n"
+                            + "    public int compareTo(Level0Api o) {\n        return 0;\n    }\n"
+                            + "}\n");
+        }
+        return files;
+    }
+
+    /**
+     * 只用基本类型签名, 直接实现 Serializable, 显式声明构造函数的类.
+     * 避开了 PSI 引擎和 JVM 的已知差异, 两边的结果应该完全一致
+     */
+    static Map<String, String> exact() {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("bench/exact/PrimitiveEntity.java", """
+                package bench.exact;
+
+                public class PrimitiveEntity implements java.io.Serializable {
+                    private long id;
+                    private String name;
+                    protected int version;
+                    public double ratio;
+                    private static int counter;
+                    public static final int LIMIT = 10;
+
+                    public PrimitiveEntity() {
+                    }
+
+                    protected PrimitiveEntity(long id, int version) {
+                    }
+
+                    public long getId() {
+                        return id;
+                    }
+
+                    public synchronized void setVersion(int version) {
+                    }
+
+                    private void ignored(String value) {
+                    }
+                }
+                """);
+        files.put("bench/exact/StaticTable.java", """
+                package bench.exact;
+
+                public final class StaticTable implements java.io.Serializable {
+                    static final long[] TABLE = new long[16];
+                    transient int cursor;
+
+                    public StaticTable() {
+                    }
+
+                    public long at(int index) {
+                        return TABLE[index];
+                    }
+                }
+                """);
+        return files;
+    }
+
+    /**
+     * 端到端流水线用的工程: 带嵌套类, 部分已经实现 Serializable, 部分已经有 serialVersionUID, 还有接口
+     */
+    static Map<String, String> project(String rootPackage, int fileCount) {
+        Map<String, String> files = new LinkedHashMap<>();
+        String basePath = rootPackage.replace('.', '/');
+        files.put(basePath + "/BaseEntity.java", "package " + rootPackage + ";\n\n"
+                + "public abstract class BaseEntity implements Comparable<BaseEntity> {\n"
+                + "    protected Long id;\n"
+                + "    public Long getId() {\n        return id;\n    }\n"
+                + "    public int compareTo(BaseEntity o) {\n        return 0;\n    }\n"
+                + "}\n");
+        for (int i = 0; i < fileCount; i++) {
+            String pkg = rootPackage + ".p" + (i % 20);
+            String name = (i % 17 == 0 ? "Api" : "Entity") + i;
+            StringBuilder sb = new StringBuilder();
+            sb.append("package ").append(pkg).append(";\n\n");
+            sb.append("import ").append(rootPackage).append(".BaseEntity;\n");
+            sb.append("import java.util.List;\n\n");
+            if (i % 17 == 0) {
+                sb.append("public interface ").append(name).append(" {\n    void call();\n}\n");
+                files.put(pkg.replace('.', '/') + "/" + name + ".java", sb.toString());
+                continue;
+            }
+            boolean serializable = i % 3 == 0;
+            sb.append("public class ").append(name).append(" extends BaseEntity");
+            if (serializable) {
+                sb.append(" implements java.io.Serializable");
+            }
+            sb.append(" {\n");
+            if (serializable && i % 2 == 0) {
+                sb.append("    private static final long serialVersionUID = 1L;\n");
+            }
+            sb.append("    private String name;\n    private List<String> tags;\n    protected int version;\n");
+            sb.append("    public ").append(name).append("(String name) {\n        this.name = name;\n    }\n");
+            sb.append("    public String getName() {\n        return name;\n    }\n");
+            sb.append("    public void setTags(List<String> tags) {\n        this.tags = tags;\n    }\n");
+            sb.append("    public static class Key {\n        private long value;\n        public long getValue() {\n            return value;\n        }\n    }\n");
+            sb.append("}\n");
+            files.put(pkg.replace('.', '/') + "/" + name + ".java", sb.toString());
+        }
+        return files;
+    }
+}
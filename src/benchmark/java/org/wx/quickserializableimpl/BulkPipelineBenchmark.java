@@ -0,0 +1,65 @@
+package org.wx.quickserializableimpl;
+
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.ui.TestDialog;
+import com.intellij.openapi.ui.TestDialogManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.EdtTestUtil;
+import com.intellij.testFramework.fixtures.JavaCodeInsightTestFixture;
+import org.openjdk.jmh.annotations.*;
+import org.wx.quickserializableimpl.core.SerializableImplAndSerialIdGenTask;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文件夹批量生成的端到端基准测试: 扫描, 预过滤, 并行计算, 分批写入.
+ * 每次调用前重新生成工程, 保证每次都从没有处理过的代码开始.
+ *
+ * @author wuxin
+ * @date 2026/10/17 16:22:18
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class BulkPipelineBenchmark {
+
+    private static final String ROOT_PACKAGE = "bench.pipeline";
+
+    @Param({"200", "1000"})
+    public int files;
+
+    private VirtualFile root;
+
+    @Setup(Level.Trial)
+    public void setUpDialogs() {
+        // 已有 serialVersionUID 时的覆盖确认, 选择不覆盖
+        TestDialogManager.setTestDialog(TestDialog.NO);
+    }
+
+    @Setup(Level.Invocation)
+    public void generateProject() throws IOException {
+        JavaCodeInsightTestFixture fixture = BenchmarkFixture.get();
+        VirtualFile existing = fixture.getTempDirFixture().getFile(ROOT_PACKAGE.replace('.', '/'));
+        if (existing != null) {
+            EdtTestUtil.runInEdtAndWait(() -> WriteAction.run(() -> existing.delete(this)));
+        }
+        BenchmarkFixture.addSources(BenchmarkSources.project(ROOT_PACKAGE, files));
+        root = fixture.getTempDirFixture().getFile(ROOT_PACKAGE.replace('.', '/'));
+    }
+
+    @Benchmark
+    public void folderAction() {
+        new SerializableImplAndSerialIdGenTask(BenchmarkFixture.project(), new VirtualFile[]{root})
+                .run(new EmptyProgressIndicator());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownDialogs() {
+        TestDialogManager.setTestDialog(TestDialog.DEFAULT);
+    }
+}
@@ -0,0 +1,135 @@
+package org.wx.quickserializableimpl;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.psi.PsiClass;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.ObjectStreamClass;
+import java.io.PrintStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 把基准测试用的源码用 javac 编译成 class, 和 {@link ObjectStreamClass#getSerialVersionUID()} 对比, 不一致时抛出 AssertionError:
+ * <ul>
+ *     <li>class 文件引擎 {@link ClassFileSuidReader} 必须对所有类(包括接口)完全一致;</li>
+ *     <li>PSI 引擎除了 {@link #EXPECTED_PSI_DIFFS} 里列出的类以外必须完全一致. 列出的类只输出对比结果.</li>
+ * </ul>
+ *
+ * @author wuxin
+ * @date 2026/10/17 16:40:03
+ *
+ */
+final class ObjectStreamClassCheck {
+
+    /**
+     * PSI 引擎和 JVM 的已知差异, 这些规则一直沿用, 改了会让已经生成的值全部变化:
+     * <ul>
+     *     <li>接口取包括父类和父接口在内的全部接口, JVM 只取类直接声明的接口;</li>
+     *     <li>方法和构造函数的签名里保留 '/', JVM 会替换成 '.';</li>
+     *     <li>不包含编译器生成的成员: 隐式的默认构造函数, 桥方法, this$0 等.</li>
+     * </ul>
+     */
+    private static final Map<String, String> EXPECTED_PSI_DIFFS = expectedPsiDiffs();
+
+    private ObjectStreamClassCheck() {
+    }
+
+    private static Map<String, String> expectedPsiDiffs() {
+        Map<String, String> diffs = new LinkedHashMap<>();
+        diffs.put(BenchmarkSources.SMALL_CLASS, "method signatures with reference types keep '/'");
+        diffs.put(BenchmarkSources.WIDE_CLASS, "method signatures with reference types keep '/'");
+        diffs.put("bench.deep.Level0", "inherited interfaces are hashed, the implicit default constructor is not");
+        for (int i = 1; i <= BenchmarkSources.DEEP_DEPTH; i++) {
+            diffs.put("bench.deep.Level" + i, "inherited interfaces are hashed, bridge methods and '.' in signatures are not");
+        }
+        return diffs;
+    }
+
+    static void run(PrintStream out) throws IOException, ClassNotFoundException {
+        Path workDir = FileUtil.createTempDirectory("serialIdCheck", null).toPath();
+        try {
+            List<String> classNames = new ArrayList<>();
+            List<Path> sourceFiles = new ArrayList<>();
+            List<Map<String, String>> sourceSets = List.of(BenchmarkSources.small(), BenchmarkSources.wide(),
+                    BenchmarkSources.deep(), BenchmarkSources.exact());
+            for (Map<String, String> sources : sourceSets) {
+                BenchmarkFixture.addSources(sources);
+                for (Map.Entry<String, String> source : sources.entrySet()) {
+                    Path file = workDir.resolve("src").resolve(source.getKey());
+                    Files.createDirectories(file.getParent());
+                    Files.writeString(file, source.getValue(), StandardCharsets.UTF_8);
+                    sourceFiles.add(file);
+                    classNames.add(source.getKey().replace(".java", "").replace('/', '.'));
+                }
+            }
+            Path classesDir = workDir.resolve("classes");
+            Files.createDirectories(classesDir);
+            compile(sourceFiles, classesDir);
+
+            List<String> failures = new ArrayList<>();
+            try (URLClassLoader loader = new URLClassLoader(new URL[]{classesDir.toUri().toURL()}, null)) {
+                for (String className : classNames) {
+                    ObjectStreamClass descriptor = ObjectStreamClass.lookup(Class.forName(className, false, loader));
+                    if (descriptor == null) {
+                        failures.add(className + ": not Serializable");
+                        continue;
+                    }
+                    long jvm = descriptor.getSerialVersionUID();
+                    byte[] bytes = Files.readAllBytes(classesDir.resolve(className.replace('.', '/') + ".class"));
+                    long compiled = ClassFileSuidReader.computeDefaultSUID(ByteBuffer.wrap(bytes), false);
+                    if (compiled != jvm) {
+                        failures.add(className + ": class file engine " + compiled + " != jvm " + jvm);
+                    }
+                    PsiClass psiClass = BenchmarkFixture.findClass(className);
+                    if (psiClass == null) {
+                        failures.add(className + ": not found in the PSI fixture");
+                        continue;
+                    }
+                    if (ReadAction.compute(psiClass::isInterface)) {
+                        out.printf("%-6s %-32s class=%d jvm=%d%n", compiled == jvm ? "MATCH" : "DIFF", className, compiled, jvm);
+                        continue;
+                    }
+                    // 直接用 PSI 引擎, 不受 "使用编译输出" 设置的影响
+                    long psi = ReadAction.compute(() -> SerialVersionUIDBuilder.computeSourceSUID(psiClass, false, new SuidComputeContext()));
+                    String expectedDiff = EXPECTED_PSI_DIFFS.get(className);
+                    if (psi != jvm && expectedDiff == null) {
+                        failures.add(className + ": psi engine " + psi + " != jvm " + jvm);
+                    }
+                    out.printf("%-6s %-32s psi=%d class=%d jvm=%d%s%n", psi == jvm ? "MATCH" : "DIFF", className, psi, compiled, jvm,
+                            psi != jvm && expectedDiff != null ? " (expected: " + expectedDiff + ")" : "");
+                }
+            }
+            if (!failures.isEmpty()) {
+                throw new AssertionError("ObjectStreamClass check failed:\n" + String.join("\n", failures));
+            }
+            out.println("ObjectStreamClass check passed");
+        } finally {
+            FileUtil.delete(workDir);
+        }
+    }
+
+    private static void compile(List<Path> sourceFiles, Path classesDir) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("A JDK is required to compile the benchmark sources");
+        }
+        List<String> args = new ArrayList<>(List.of("-d", classesDir.toString(), "-encoding", "UTF-8"));
+        sourceFiles.forEach(file -> args.add(file.toString()));
+        int exitCode = compiler.run(null, null, null, args.toArray(String[]::new));
+        if (exitCode != 0) {
+            throw new IllegalStateException("javac failed with exit code " + exitCode);
+        }
+    }
+}
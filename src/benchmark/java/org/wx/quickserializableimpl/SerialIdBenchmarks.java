@@ -0,0 +1,33 @@
+package org.wx.quickserializableimpl;
+
+import org.junit.Test;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口, 由 ./gradlew benchmark 在配置好的 IDE 测试环境里启动.
+ * JMH 以 forks(0) 在当前 JVM 中运行, 和 PSI fixture 共用同一个 Application.
+ * 跑完之后再和 ObjectStreamClass 对比一次结果, 不一致时测试失败.
+ *
+ * @author wuxin
+ * @date 2026/10/17 16:55:41
+ *
+ */
+public class SerialIdBenchmarks {
+
+    @Test
+    public void runBenchmarks() throws Exception {
+        try {
+            Options options = new OptionsBuilder()
+                    .include(System.getProperty("jmh.include", ".*"))
+                    .forks(0)
+                    .shouldFailOnError(true)
+                    .build();
+            new Runner(options).run();
+            ObjectStreamClassCheck.run(System.out);
+        } finally {
+            BenchmarkFixture.tearDown();
+        }
+    }
+}
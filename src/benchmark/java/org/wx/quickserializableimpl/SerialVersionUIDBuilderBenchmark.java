@@ -0,0 +1,73 @@
+package org.wx.quickserializableimpl;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.psi.PsiClass;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SerialVersionUIDBuilder#computeDefaultSUID} 的基准测试: 小类, 宽类(大量字段和方法), 深继承链.
+ * uncached 衡量完整的计算(每次调用前清掉继承链上缓存的接口集合), cached 衡量类没有变化时走缓存的开销.
+ *
+ * @author wuxin
+ * @date 2026/10/17 16:05:37
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SerialVersionUIDBuilderBenchmark {
+
+    @Param({"small", "wide", "deep"})
+    public String shape;
+
+    private PsiClass psiClass;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkFixture.addSources(BenchmarkSources.forShape(shape));
+        psiClass = BenchmarkFixture.findClass(BenchmarkSources.classNameOf(shape));
+        if (psiClass == null) {
+            throw new IllegalStateException("Class not found: " + BenchmarkSources.classNameOf(shape));
+        }
+    }
+
+    @Benchmark
+    public long uncached(ColdClosure cold) {
+        return ReadAction.compute(() -> SerialVersionUIDBuilder.doComputeDefaultSUID(psiClass, false, new SuidComputeContext()));
+    }
+
+    @Benchmark
+    public long uncachedSharedContext(ColdClosure cold, SharedContext shared) {
+        return ReadAction.compute(() -> SerialVersionUIDBuilder.doComputeDefaultSUID(psiClass, false, shared.context));
+    }
+
+    @Benchmark
+    public long cached() {
+        return ReadAction.compute(() -> SerialVersionUIDBuilder.computeDefaultSUID(psiClass));
+    }
+
+    /**
+     * 每次调用前清掉类和父类型上缓存的接口集合, 否则深继承链只在第一次调用时计算.
+     * Level.Invocation 的额外开销在纳秒级, 相对微秒级的计算可以忽略
+     */
+    @State(Scope.Thread)
+    public static class ColdClosure {
+
+        @Setup(Level.Invocation)
+        public void dropClosureCache(SerialVersionUIDBuilderBenchmark benchmark) {
+            ReadAction.run(() -> SerialVersionUIDBuilder.dropInterfaceClosureCache(benchmark.psiClass));
+        }
+    }
+
+    /**
+     * 模拟一次批量运行里共享的缓存
+     */
+    @State(Scope.Benchmark)
+    public static class SharedContext {
+        final SuidComputeContext context = new SuidComputeContext();
+    }
+}
@@ -0,0 +1,58 @@
+package org.wx.quickserializableimpl;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.testFramework.EdtTestUtil;
+import com.intellij.testFramework.fixtures.IdeaProjectTestFixture;
+import com.intellij.testFramework.fixtures.IdeaTestFixtureFactory;
+import com.intellij.testFramework.fixtures.JavaCodeInsightTestFixture;
+import com.intellij.testFramework.fixtures.JavaTestFixtureFactory;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import com.intellij.testFramework.fixtures.TestFixtureBuilder;
+
+/**
+ * 基准测试和规模测试共用的 headless 轻量 PSI fixture (JDK 17 mock).
+ * 每个测试进程只建一个, 进程里所有用例都从这里拿 Project, 用完由各自的入口统一 tearDown.
+ *
+ * @author wuxin
+ * @date 2026/10/18 15:06:27
+ *
+ */
+final class HeadlessFixture {
+
+    private static JavaCodeInsightTestFixture fixture;
+
+    private HeadlessFixture() {
+    }
+
+    static synchronized JavaCodeInsightTestFixture get() {
+        if (fixture == null) {
+            TestFixtureBuilder<IdeaProjectTestFixture> builder = IdeaTestFixtureFactory.getFixtureFactory()
+                    .createLightFixtureBuilder(LightJavaCodeInsightFixtureTestCase.JAVA_17, "serialIdHeadless");
+            JavaCodeInsightTestFixture created = JavaTestFixtureFactory.getFixtureFactory().createCodeInsightFixture(builder.getFixture());
+            try {
+                EdtTestUtil.runInEdtAndWait(created::setUp);
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to set up the headless fixture", e);
+            }
+            fixture = created;
+        }
+        return fixture;
+    }
+
+    static synchronized void tearDown() {
+        if (fixture == null) {
+            return;
+        }
+        try {
+            EdtTestUtil.runInEdtAndWait(fixture::tearDown);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to tear down the headless fixture", e);
+        } finally {
+            fixture = null;
+        }
+    }
+
+    static Project project() {
+        return get().getProject();
+    }
+}
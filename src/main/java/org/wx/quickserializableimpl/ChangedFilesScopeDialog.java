@@ -0,0 +1,98 @@
+package org.wx.quickserializableimpl;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.ui.ValidationInfo;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.ui.components.JBRadioButton;
+import com.intellij.ui.components.JBTextField;
+import com.intellij.util.ui.FormBuilder;
+import org.jetbrains.annotations.Nullable;
+import org.wx.quickserializableimpl.core.ChangedFilesScope;
+import org.wx.quickserializableimpl.core.RefChangedFilesProvider;
+import org.wx.quickserializableimpl.settings.SerialIdGenSettings;
+
+import javax.swing.*;
+
+/**
+ * 选择按哪种改动来限定批量生成的范围, 选择结果记在设置里, 下次打开时默认选中.
+ *
+ * @author wuxin
+ * @date 2026/10/17 22:55:30
+ *
+ */
+class ChangedFilesScopeDialog extends DialogWrapper {
+
+    private final JBRadioButton localChangesButton = new JBRadioButton(ChangedFilesScope.Kind.LOCAL_CHANGES.getDisplayName());
+
+    private final JBRadioButton activeChangelistButton = new JBRadioButton(ChangedFilesScope.Kind.ACTIVE_CHANGELIST.getDisplayName());
+
+    private final JBRadioButton diffAgainstRefButton = new JBRadioButton(ChangedFilesScope.Kind.DIFF_AGAINST_REF.getDisplayName());
+
+    private final JBTextField refField = new JBTextField();
+
+    ChangedFilesScopeDialog(Project project) {
+        super(project);
+        setTitle("Serializable Impl For Changed Files");
+        ButtonGroup group = new ButtonGroup();
+        group.add(localChangesButton);
+        group.add(activeChangelistButton);
+        group.add(diffAgainstRefButton);
+
+        SerialIdGenSettings.SettingsState state = SerialIdGenSettings.getInstance().getState();
+        // 没有 Git 插件时不能和 ref 对比
+        boolean gitAvailable = RefChangedFilesProvider.getInstance() != null;
+        diffAgainstRefButton.setEnabled(gitAvailable);
+        refField.setText(state.changedFilesRef);
+        refField.getEmptyText().setText("Branch, tag or commit");
+        switch (gitAvailable ? state.changedFilesScope : ChangedFilesScope.Kind.LOCAL_CHANGES) {
+            case ACTIVE_CHANGELIST -> activeChangelistButton.setSelected(true);
+            case DIFF_AGAINST_REF -> diffAgainstRefButton.setSelected(true);
+            default -> localChangesButton.setSelected(true);
+        }
+        refField.setEnabled(diffAgainstRefButton.isSelected());
+        diffAgainstRefButton.addItemListener(e -> refField.setEnabled(diffAgainstRefButton.isSelected()));
+        init();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        return FormBuilder.createFormBuilder()
+                .addComponent(localChangesButton)
+                .addComponent(activeChangelistButton)
+                .addComponent(diffAgainstRefButton)
+                .addLabeledComponent("Ref:", refField)
+                .getPanel();
+    }
+
+    @Override
+    public @Nullable JComponent getPreferredFocusedComponent() {
+        return diffAgainstRefButton.isSelected() ? refField : null;
+    }
+
+    @Override
+    protected @Nullable ValidationInfo doValidate() {
+        if (diffAgainstRefButton.isSelected() && StringUtil.isEmptyOrSpaces(refField.getText())) {
+            return new ValidationInfo("Enter a branch, tag or commit to compare with", refField);
+        }
+        return null;
+    }
+
+    @Override
+    protected void doOKAction() {
+        SerialIdGenSettings.SettingsState state = SerialIdGenSettings.getInstance().getState();
+        state.changedFilesScope = getScope().kind();
+        state.changedFilesRef = refField.getText().trim();
+        super.doOKAction();
+    }
+
+    ChangedFilesScope getScope() {
+        if (activeChangelistButton.isSelected()) {
+            return new ChangedFilesScope(ChangedFilesScope.Kind.ACTIVE_CHANGELIST, null);
+        }
+        if (diffAgainstRefButton.isSelected()) {
+            return new ChangedFilesScope(ChangedFilesScope.Kind.DIFF_AGAINST_REF, refField.getText().trim());
+        }
+        return new ChangedFilesScope(ChangedFilesScope.Kind.LOCAL_CHANGES, null);
+    }
+}
@@ -0,0 +1,48 @@
+package org.wx.quickserializableimpl;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.wx.quickserializableimpl.core.SerializableImplAndSerialIdGenTask;
+
+/**
+ * 只对选中范围内在 VCS 中有改动的文件实现 Serializable 并生成 serialVersionUID,
+ * 合并前在大仓库上运行时耗时只和改动的多少有关. 没有选中文件时处理整个项目.
+ *
+ * @author wuxin
+ * @date 2026/10/17 23:02:14
+ *
+ */
+public class ChangedFilesSerializableImplAction extends AnAction {
+
+    @Override
+    public ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent event) {
+        Project project = event.getProject();
+        if (project == null) {
+            Messages.showErrorDialog("No project found!", "Error");
+            return;
+        }
+        VirtualFile[] virtualFiles = event.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        if (virtualFiles == null || virtualFiles.length == 0) {
+            virtualFiles = ProjectRootManager.getInstance(project).getContentSourceRoots();
+        }
+        ChangedFilesScopeDialog dialog = new ChangedFilesScopeDialog(project);
+        if (!dialog.showAndGet()) {
+            return;
+        }
+        // 获取改动需要访问 VCS, 和扫描一起放到后台任务里
+        new SerializableImplAndSerialIdGenTask(project, virtualFiles, dialog.getScope()).queue();
+    }
+
+}
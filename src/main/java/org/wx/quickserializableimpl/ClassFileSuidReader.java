@@ -0,0 +1,239 @@
+package org.wx.quickserializableimpl;
+
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 直接从 class 文件计算默认的 serialVersionUID, 算法和 {@link java.io.ObjectStreamClass} 完全一致.
+ * 只解析常量池, 类修饰符, 接口, 字段, 方法和 InnerClasses 属性, 其余属性全部跳过.
+ *
+ * @author wuxin
+ * @date 2026/10/17 17:26:50
+ *
+ */
+final class ClassFileSuidReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int FIELD_MODS = Modifier.PUBLIC | Modifier.PRIVATE | Modifier.PROTECTED |
+            Modifier.STATIC | Modifier.FINAL | Modifier.VOLATILE | Modifier.TRANSIENT;
+
+    private static final int METHOD_MODS = Modifier.PUBLIC | Modifier.PRIVATE | Modifier.PROTECTED |
+            Modifier.STATIC | Modifier.FINAL | Modifier.SYNCHRONIZED |
+            Modifier.NATIVE | Modifier.ABSTRACT | Modifier.STRICT;
+
+    private final ByteBuffer buf;
+
+    /**
+     * 常量池每一项在 buf 中的偏移(指向 tag 之后)
+     */
+    private int[] cpOffsets;
+
+    private ClassFileSuidReader(ByteBuffer buf) {
+        this.buf = buf;
+    }
+
+    /**
+     * @param classFile          class 文件内容, 从 position 开始读到 limit
+     * @param assumeSerializable 按照已经实现了 java.io.Serializable 来计算
+     */
+    static long computeDefaultSUID(ByteBuffer classFile, boolean assumeSerializable) throws IOException {
+        return new ClassFileSuidReader(classFile.slice()).compute(assumeSerializable);
+    }
+
+    private long compute(boolean assumeSerializable) throws IOException {
+        if (buf.getInt(0) != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        int pos = readConstantPool();
+        int accessFlags = u2(pos);
+        int thisClass = u2(pos + 2);
+        pos += 6;
+
+        List<String> interfaces = new ArrayList<>();
+        int interfacesCount = u2(pos);
+        pos += 2;
+        for (int i = 0; i < interfacesCount; i++, pos += 2) {
+            interfaces.add(className(u2(pos)).replace('/', '.'));
+        }
+        if (assumeSerializable && !interfaces.contains("java.io.Serializable")) {
+            interfaces.add("java.io.Serializable");
+        }
+        interfaces.sort(Comparator.naturalOrder());
+
+        List<Member> fields = new ArrayList<>();
+        pos = readMembers(pos, fields);
+        List<Member> methods = new ArrayList<>();
+        pos = readMembers(pos, methods);
+
+        // 嵌套类的修饰符以 InnerClasses 属性里的为准, 和 Class.getModifiers() 一致
+        int classMods = accessFlags;
+        int attributesCount = u2(pos);
+        pos += 2;
+        for (int i = 0; i < attributesCount; i++) {
+            int nameIndex = u2(pos);
+            int length = buf.getInt(pos + 2);
+            int body = pos + 6;
+            if ("InnerClasses".equals(utf8(nameIndex))) {
+                int classes = u2(body);
+                for (int c = 0, entry = body + 2; c < classes; c++, entry += 8) {
+                    if (u2(entry) == thisClass) {
+                        classMods = u2(entry + 6);
+                    }
+                }
+            }
+            pos = body + length;
+        }
+
+        SuidDigestStream dout = SuidDigestStream.acquire();
+        try {
+            dout.writeUTF(className(thisClass).replace('/', '.'));
+
+            List<Member> constructors = new ArrayList<>();
+            List<Member> declaredMethods = new ArrayList<>();
+            boolean hasStaticInitializer = false;
+            for (Member method : methods) {
+                if ("<clinit>".equals(method.name)) {
+                    hasStaticInitializer = true;
+                } else if ("<init>".equals(method.name)) {
+                    constructors.add(method);
+                } else {
+                    declaredMethods.add(method);
+                }
+            }
+
+            classMods &= Modifier.PUBLIC | Modifier.FINAL | Modifier.INTERFACE | Modifier.ABSTRACT;
+            if ((classMods & Modifier.INTERFACE) != 0) {
+                classMods = declaredMethods.isEmpty() ? (classMods & ~Modifier.ABSTRACT) : (classMods | Modifier.ABSTRACT);
+            }
+            dout.writeInt(classMods);
+
+            for (String name : interfaces) {
+                dout.writeUTF(name);
+            }
+
+            fields.sort(Comparator.comparing(Member::name));
+            for (Member field : fields) {
+                int mods = field.access & FIELD_MODS;
+                if (((mods & Modifier.PRIVATE) == 0) || ((mods & (Modifier.STATIC | Modifier.TRANSIENT)) == 0)) {
+                    dout.writeUTF(field.name);
+                    dout.writeInt(mods);
+                    dout.writeUTF(field.descriptor);
+                }
+            }
+
+            if (hasStaticInitializer) {
+                dout.writeUTF("<clinit>");
+                dout.writeInt(Modifier.STATIC);
+                dout.writeUTF("()V");
+            }
+
+            constructors.sort(Comparator.comparing(Member::descriptor));
+            for (Member constructor : constructors) {
+                int mods = constructor.access & METHOD_MODS;
+                if ((mods & Modifier.PRIVATE) == 0) {
+                    dout.writeUTF("<init>");
+                    dout.writeInt(mods);
+                    dout.writeUTF(constructor.descriptor.replace('/', '.'));
+                }
+            }
+
+            declaredMethods.sort(Comparator.comparing(Member::name).thenComparing(Member::descriptor));
+            for (Member method : declaredMethods) {
+                int mods = method.access & METHOD_MODS;
+                if ((mods & Modifier.PRIVATE) == 0) {
+                    dout.writeUTF(method.name);
+                    dout.writeInt(mods);
+                    dout.writeUTF(method.descriptor.replace('/', '.'));
+                }
+            }
+            return dout.finish();
+        } finally {
+            dout.release();
+        }
+    }
+
+    private int readConstantPool() throws IOException {
+        int count = u2(8);
+        cpOffsets = new int[count];
+        int pos = 10;
+        for (int i = 1; i < count; i++) {
+            int tag = buf.get(pos) & 0xFF;
+            cpOffsets[i] = pos + 1;
+            switch (tag) {
+                case 1 -> pos += 3 + u2(pos + 1);   // Utf8
+                case 3, 4 -> pos += 5;              // Integer, Float
+                case 5, 6 -> {                      // Long, Double 占两个位置
+                    pos += 9;
+                    i++;
+                }
+                case 7, 8, 16, 19, 20 -> pos += 3;  // Class, String, MethodType, Module, Package
+                case 9, 10, 11, 12, 17, 18 -> pos += 5;
+                case 15 -> pos += 4;                // MethodHandle
+                default -> throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+        return pos;
+    }
+
+    private int readMembers(int pos, List<Member> members) throws IOException {
+        int count = u2(pos);
+        pos += 2;
+        for (int i = 0; i < count; i++) {
+            int access = u2(pos);
+            String name = utf8(u2(pos + 2));
+            String descriptor = utf8(u2(pos + 4));
+            int attributesCount = u2(pos + 6);
+            pos += 8;
+            for (int a = 0; a < attributesCount; a++) {
+                pos += 6 + buf.getInt(pos + 2);
+            }
+            members.add(new Member(name, access, descriptor));
+        }
+        return pos;
+    }
+
+    private String className(int classIndex) throws IOException {
+        return utf8(u2(cpOffsets[classIndex]));
+    }
+
+    /**
+     * 按 modified UTF-8 解码常量池中的字符串
+     */
+    private String utf8(int index) throws IOException {
+        int offset = cpOffsets[index];
+        int length = u2(offset);
+        int pos = offset + 2;
+        int end = pos + length;
+        char[] chars = new char[length];
+        int count = 0;
+        while (pos < end) {
+            int c = buf.get(pos) & 0xFF;
+            if (c < 0x80) {
+                chars[count++] = (char) c;
+                pos++;
+            } else if ((c & 0xE0) == 0xC0 && pos + 1 < end) {
+                chars[count++] = (char) (((c & 0x1F) << 6) | (buf.get(pos + 1) & 0x3F));
+                pos += 2;
+            } else if ((c & 0xF0) == 0xE0 && pos + 2 < end) {
+                chars[count++] = (char) (((c & 0x0F) << 12) | ((buf.get(pos + 1) & 0x3F) << 6) | (buf.get(pos + 2) & 0x3F));
+                pos += 3;
+            } else {
+                throw new UTFDataFormatException("Malformed constant pool string at " + pos);
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    private int u2(int pos) {
+        return buf.getShort(pos) & 0xFFFF;
+    }
+
+    private record Member(String name, int access, String descriptor) {
+    }
+}
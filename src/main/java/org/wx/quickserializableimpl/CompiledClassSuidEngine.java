@@ -0,0 +1,149 @@
+package org.wx.quickserializableimpl;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.roots.CompilerModuleExtension;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.ClassUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * 从模块编译输出目录里的 class 文件计算 serialVersionUID, 结果和 JVM 运行时完全一致.
+ * class 文件不存在, 比源文件旧, 或者源文件还有未保存的修改时返回 null, 表示现在无法得到准确的值.
+ * 结果缓存在类上, 源文件的 PSI, 源文件和 class 文件的时间戳任意一个变化后才重新读取.
+ *
+ * @author wuxin
+ * @date 2026/10/17 17:41:08
+ *
+ */
+final class CompiledClassSuidEngine {
+
+    private static final Logger LOG = Logger.getInstance(CompiledClassSuidEngine.class);
+
+    /**
+     * 每个线程复用的读缓冲区, 不够大时扩容.
+     * 不用内存映射: 映射的文件在 GC 之前一直被占用, Windows 上会导致编译器无法覆盖 class 文件
+     */
+    private static final ThreadLocal<ByteBuffer> BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(64 * 1024));
+
+    private static final Key<CachedValue<Long>> SUID_KEY = Key.create("CompiledClassSuidEngine.SUID");
+
+    private static final Key<CachedValue<Long>> SERIALIZABLE_SUID_KEY = Key.create("CompiledClassSuidEngine.SERIALIZABLE_SUID");
+
+    private CompiledClassSuidEngine() {
+    }
+
+    /**
+     * 必须在读操作中调用.
+     *
+     * @return class 文件计算出的 serialVersionUID, 无法使用 class 文件时返回 null
+     */
+    static @Nullable Long computeDefaultSUID(PsiClass psiClass, boolean assumeSerializable) {
+        PsiFile psiFile = psiClass.getContainingFile();
+        VirtualFile sourceFile = psiFile == null ? null : psiFile.getVirtualFile();
+        String binaryName = ClassUtil.getJVMClassName(psiClass);
+        if (sourceFile == null || binaryName == null || !sourceFile.isInLocalFileSystem()) {
+            return null;
+        }
+        Key<CachedValue<Long>> key = assumeSerializable ? SERIALIZABLE_SUID_KEY : SUID_KEY;
+        // 缓存的值可以是 null, class 文件更新之前一直返回 null, 不会每次高亮都去访问磁盘
+        return CachedValuesManager.getCachedValue(psiClass, key, () -> {
+            Path classFile = findClassFile(psiClass, sourceFile, binaryName);
+            Long value = classFile != null && isFresh(classFile, sourceFile) ? readClassFile(classFile, assumeSerializable) : null;
+            return CachedValueProvider.Result.create(value, psiFile, new ClassFileTracker(classFile, sourceFile),
+                    ProjectRootManager.getInstance(psiClass.getProject()));
+        });
+    }
+
+    private static @Nullable Long readClassFile(Path classFile, boolean assumeSerializable) {
+        try (FileChannel channel = FileChannel.open(classFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return null;
+            }
+            ByteBuffer buffer = BUFFER.get();
+            if (buffer.capacity() < size) {
+                buffer = ByteBuffer.allocateDirect((int) size);
+                BUFFER.set(buffer);
+            }
+            buffer.clear().limit((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // 读满为止
+            }
+            buffer.flip();
+            return ClassFileSuidReader.computeDefaultSUID(buffer, assumeSerializable);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Failed to read " + classFile, e);
+            return null;
+        }
+    }
+
+    private static @Nullable Path findClassFile(PsiClass psiClass, VirtualFile sourceFile, String binaryName) {
+        Module module = ModuleUtilCore.findModuleForFile(sourceFile, psiClass.getProject());
+        CompilerModuleExtension extension = module == null ? null : CompilerModuleExtension.getInstance(module);
+        if (extension == null) {
+            return null;
+        }
+        boolean test = ProjectFileIndex.getInstance(psiClass.getProject()).isInTestSourceContent(sourceFile);
+        String outputUrl = test ? extension.getCompilerOutputUrlForTests() : extension.getCompilerOutputUrl();
+        if (outputUrl == null) {
+            return null;
+        }
+        return Path.of(VfsUtilCore.urlToPath(outputUrl), binaryName.replace('.', '/') + ".class");
+    }
+
+    /**
+     * class 文件不比源文件旧, 并且源文件没有未保存的修改
+     */
+    private static boolean isFresh(Path classFile, VirtualFile sourceFile) {
+        if (FileDocumentManager.getInstance().isFileModified(sourceFile)) {
+            return false;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(classFile, BasicFileAttributes.class);
+            return attributes.lastModifiedTime().toMillis() >= sourceFile.getTimeStamp();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 源文件保存, 或者重新编译之后变化, 检查时只读取文件属性
+     */
+    private record ClassFileTracker(@Nullable Path classFile, VirtualFile sourceFile) implements ModificationTracker {
+
+        @Override
+        public long getModificationCount() {
+            long classStamp;
+            try {
+                classStamp = classFile == null ? 0 : Files.getLastModifiedTime(classFile).toMillis();
+            } catch (IOException e) {
+                classStamp = -1;
+            }
+            return classStamp * 31 + sourceFile.getTimeStamp();
+        }
+    }
+}
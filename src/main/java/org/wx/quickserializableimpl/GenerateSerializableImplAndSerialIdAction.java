@@ -11,6 +11,8 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.util.PsiTreeUtil;
 import org.jetbrains.annotations.NotNull;
+import org.wx.quickserializableimpl.core.FileGenPlan;
+import org.wx.quickserializableimpl.core.SerialIdPrecomputer;
 import org.wx.quickserializableimpl.core.SerializableImplAndSerialIdGen;
 
 import java.io.Serial;
@@ -42,6 +44,9 @@ public class GenerateSerializableImplAndSerialIdAction extends AnAction{
             return null;
         }
         PsiFile psiFile = event.getData(LangDataKeys.PSI_FILE);
+        if (psiFile == null) {
+            return null;
+        }
         int offset = editor.getCaretModel().getOffset();
         PsiElement elementAtCursor = psiFile.findElementAt(offset);
         if (elementAtCursor == null) {
@@ -70,6 +75,7 @@ public class GenerateSerializableImplAndSerialIdAction extends AnAction{
                                 NotificationType.WARNING
                         )
                 );
+                return;
         }
         if(cursorUpPSIClassLooked.isInterface()){
             Notifications.Bus.notify(
@@ -80,13 +86,21 @@ public class GenerateSerializableImplAndSerialIdAction extends AnAction{
                             NotificationType.WARNING
                     )
             );
+            return;
         }
         ArrayList<PsiClass> psiClasses = new ArrayList<>() {{
             add(cursorUpPSIClassLooked);
         }};
+        Integer rewriteSerId = SerializableImplAndSerialIdGen.psiSerIdFileConfirm(psiClasses, project);
+        // 光标停留时后台已经算好的计划直接写入, 还没算好或者代码改过时再同步计算;
+        // 计划为空时也同步计算一次, 由它提示 class 文件不是最新等原因
+        FileGenPlan plan = SerialIdPrecomputer.getInstance(project).getPlan(cursorUpPSIClassLooked, rewriteSerId);
+        if (plan != null && !plan.isEmpty()) {
+            SerializableImplAndSerialIdGen.applyPlan(project, plan);
+            return;
+        }
         SerializableImplAndSerialIdGen.doSerializableImplAndSerialIdGen(project,
-                psiFile,psiClasses,
-                SerializableImplAndSerialIdGen.psiSerIdFileConfirm(psiClasses,project));
+                psiFile,psiClasses, rewriteSerId);
     }
 
 
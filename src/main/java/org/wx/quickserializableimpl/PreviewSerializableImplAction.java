@@ -0,0 +1,43 @@
+package org.wx.quickserializableimpl;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.wx.quickserializableimpl.preview.SerializablePreviewToolWindowFactory;
+
+/**
+ * 先在工具窗口中预览选中范围内所有会发生的改动, 确认后再写入.
+ *
+ * @author wuxin
+ * @date 2026/10/18 01:46:17
+ *
+ */
+public class PreviewSerializableImplAction extends AnAction {
+
+    @Override
+    public ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent event) {
+        Project project = event.getProject();
+        if (project == null) {
+            Messages.showErrorDialog("No project found!", "Error");
+            return;
+        }
+        VirtualFile[] virtualFiles = event.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        if (virtualFiles == null || virtualFiles.length == 0) {
+            Messages.showErrorDialog("No files or directories selected!", "Error");
+            return;
+        }
+        // 计算放在后台, 结果陆续出现在预览窗口中
+        SerializablePreviewToolWindowFactory.showPreview(project, virtualFiles);
+    }
+
+}
@@ -0,0 +1,214 @@
+package org.wx.quickserializableimpl;
+
+import com.intellij.ide.plugins.IdeaPluginDescriptor;
+import com.intellij.ide.plugins.PluginManagerCore;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.extensions.PluginId;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * 一次批量运行的分阶段耗时和计数, 可以在多个线程中同时累加.
+ * 计算线程里的阶段耗时是所有线程的累加值, 会大于实际经过的时间.
+ *
+ * @author wuxin
+ * @date 2026/10/17 21:02:35
+ *
+ */
+public class RunStats {
+
+    private static final String PLUGIN_ID = "org.wx.QuickSerializableImpl";
+
+    /**
+     * 报告目录中最多保留的报告数, 更早的报告在写入新报告时删除
+     */
+    static final int MAX_REPORTS = 20;
+
+    private static final String REPORT_PREFIX = "run-";
+
+    public enum Phase {
+        /**
+         * 遍历目录, 收集 Java 文件
+         */
+        SCAN,
+        /**
+         * 用 stub 索引统计已经声明了 serialVersionUID 的类, 确认覆盖基于它
+         */
+        DESCRIBE,
+        /**
+         * 找到 PSI 文件并解析出 AST (第一次访问语法树), 收集文件中的类.
+         * AST 已经加载过的文件(比如打开的编辑器)这里几乎不耗时
+         */
+        PARSE,
+        /**
+         * 计算一个文件的改动, 包括 serialVersionUID 的计算
+         */
+        PLAN,
+        /**
+         * 计算 serialVersionUID (不走缓存时), 包括下面两项
+         */
+        SUID_COMPUTE,
+        /**
+         * 收集继承来的接口
+         */
+        INTERFACE_CLOSURE,
+        /**
+         * 判断 static 字段是否是编译期常量
+         */
+        CONSTANT_EVALUATION,
+        /**
+         * 在 EDT 中写入
+         */
+        WRITE
+    }
+
+    public enum Counter {
+        FILES_SCANNED,
+        FILES_SKIPPED,
+        CLASSES_MODIFIED,
+        CLASSES_UNCHANGED,
+        SUID_REQUESTS,
+        SUID_COMPUTED,
+        COMPILED_CLASS_HITS,
+        COMPILED_CLASS_MISSING,
+        WRITE_COMMANDS
+    }
+
+    private final LongAdder[] phaseNanos = newAdders(Phase.values().length);
+
+    private final LongAdder[] counters = newAdders(Counter.values().length);
+
+    private final long startNanos = System.nanoTime();
+
+    private static LongAdder[] newAdders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * @param startNanos 阶段开始时的 {@link System#nanoTime()}
+     */
+    public void stop(Phase phase, long startNanos) {
+        phaseNanos[phase.ordinal()].add(System.nanoTime() - startNanos);
+    }
+
+    public void increment(Counter counter) {
+        counters[counter.ordinal()].increment();
+    }
+
+    public void add(Counter counter, long value) {
+        counters[counter.ordinal()].add(value);
+    }
+
+    /**
+     * 把另一份统计的耗时和计数累加进来
+     */
+    public void addAll(RunStats other) {
+        for (int i = 0; i < phaseNanos.length; i++) {
+            phaseNanos[i].add(other.phaseNanos[i].sum());
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i].add(other.counters[i].sum());
+        }
+    }
+
+    public long getMillis(Phase phase) {
+        return phaseNanos[phase.ordinal()].sum() / 1_000_000;
+    }
+
+    public long getCount(Counter counter) {
+        return counters[counter.ordinal()].sum();
+    }
+
+    /**
+     * 命中类上缓存的次数
+     */
+    public long getCacheHits() {
+        return Math.max(0, getCount(Counter.SUID_REQUESTS) - getCount(Counter.SUID_COMPUTED)
+                - getCount(Counter.COMPILED_CLASS_HITS) - getCount(Counter.COMPILED_CLASS_MISSING));
+    }
+
+    public long getElapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * 通知里显示的简短统计
+     */
+    public String toSummary() {
+        long missing = getCount(Counter.COMPILED_CLASS_MISSING);
+        return (missing == 0 ? "" : missing + " classes skipped because their compiled classes are missing or out of date, "
+                + "build the project and run again. ") + String.format(Locale.ROOT,
+                "%d files scanned, %d skipped; %d classes modified, %d unchanged; %d SUID cache hits; %d write commands. "
+                        + "Scan %d ms, describe %d ms, parse %d ms, plan %d ms, write %d ms, total %d ms.",
+                getCount(Counter.FILES_SCANNED), getCount(Counter.FILES_SKIPPED),
+                getCount(Counter.CLASSES_MODIFIED), getCount(Counter.CLASSES_UNCHANGED),
+                getCacheHits(), getCount(Counter.WRITE_COMMANDS),
+                getMillis(Phase.SCAN), getMillis(Phase.DESCRIBE), getMillis(Phase.PARSE), getMillis(Phase.PLAN),
+                getMillis(Phase.WRITE), getElapsedMillis());
+    }
+
+    public String toJson() {
+        IdeaPluginDescriptor plugin = PluginManagerCore.getPlugin(PluginId.getId(PLUGIN_ID));
+        StringBuilder sb = new StringBuilder("{\n");
+        sb.append("  \"pluginVersion\": \"").append(plugin == null ? "unknown" : plugin.getVersion()).append("\",\n");
+        sb.append("  \"timestamp\": \"").append(LocalDateTime.now()).append("\",\n");
+        sb.append("  \"elapsedMillis\": ").append(getElapsedMillis()).append(",\n");
+        sb.append("  \"phaseMillis\": {");
+        for (Phase phase : Phase.values()) {
+            sb.append(phase.ordinal() == 0 ? "\n" : ",\n");
+            sb.append("    \"").append(phase.name().toLowerCase(Locale.ROOT)).append("\": ").append(getMillis(phase));
+        }
+        sb.append("\n  },\n  \"counters\": {");
+        for (Counter counter : Counter.values()) {
+            sb.append(counter.ordinal() == 0 ? "\n" : ",\n");
+            sb.append("    \"").append(counter.name().toLowerCase(Locale.ROOT)).append("\": ").append(getCount(counter));
+        }
+        sb.append(",\n    \"suid_cache_hits\": ").append(getCacheHits());
+        sb.append("\n  }\n}\n");
+        return sb.toString();
+    }
+
+    /**
+     * 把 JSON 报告写到 IDE 日志目录下的 quick-serializable-impl 目录中, 只保留最近的 {@link #MAX_REPORTS} 个
+     *
+     * @return 报告文件
+     */
+    public Path writeReport() throws IOException {
+        Path dir = Path.of(PathManager.getLogPath(), "quick-serializable-impl");
+        Files.createDirectories(dir);
+        String name = REPORT_PREFIX + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS")) + ".json";
+        Path report = Files.writeString(dir.resolve(name), toJson(), StandardCharsets.UTF_8);
+        deleteOldReports(dir, MAX_REPORTS);
+        return report;
+    }
+
+    /**
+     * 文件名里的时间戳按字典序就是时间顺序
+     */
+    static void deleteOldReports(Path dir, int keep) throws IOException {
+        List<Path> reports;
+        try (Stream<Path> files = Files.list(dir)) {
+            reports = files.filter(file -> {
+                String fileName = file.getFileName().toString();
+                return fileName.startsWith(REPORT_PREFIX) && fileName.endsWith(".json");
+            }).sorted(Comparator.comparing(file -> file.getFileName().toString())).toList();
+        }
+        for (int i = 0; i < reports.size() - keep; i++) {
+            Files.deleteIfExists(reports.get(i));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.wx.quickserializableimpl;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.ui.NonEmptyInputValidator;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.wx.quickserializableimpl.core.BaselineRevisionProvider;
+import org.wx.quickserializableimpl.core.SerialCompatibilityCheckTask;
+import org.wx.quickserializableimpl.settings.SerialIdGenSettings;
+
+/**
+ * 和基线版本对比, 列出 serialVersionUID 发生变化的可序列化类. 没有选中文件时检查整个项目, 需要 Git 插件.
+ *
+ * @author wuxin
+ * @date 2026/10/17 23:51:26
+ *
+ */
+public class SerialCompatibilityCheckAction extends AnAction {
+
+    @Override
+    public ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent event) {
+        event.getPresentation().setEnabled(event.getProject() != null && BaselineRevisionProvider.getInstance() != null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent event) {
+        Project project = event.getProject();
+        if (project == null) {
+            Messages.showErrorDialog("No project found!", "Error");
+            return;
+        }
+        VirtualFile[] virtualFiles = event.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        if (virtualFiles == null || virtualFiles.length == 0) {
+            virtualFiles = ProjectRootManager.getInstance(project).getContentSourceRoots();
+        }
+        SerialIdGenSettings.SettingsState state = SerialIdGenSettings.getInstance().getState();
+        String ref = Messages.showInputDialog(project, "Baseline branch, tag or commit:", "Check Serialization Compatibility",
+                null, state.compatibilityBaselineRef, new NonEmptyInputValidator());
+        if (ref == null) {
+            return;
+        }
+        state.compatibilityBaselineRef = ref.trim();
+        new SerialCompatibilityCheckTask(project, virtualFiles, state.compatibilityBaselineRef).queue();
+    }
+
+}
@@ -0,0 +1,37 @@
+package org.wx.quickserializableimpl;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import org.wx.quickserializableimpl.core.SerialIdDriftReportTask;
+
+/**
+ * 列出声明的 serialVersionUID 和计算出的默认值不一致的类. 声明的字段从 stub 索引查找, 默认值在后台重新计算.
+ *
+ * @author wuxin
+ * @date 2026/10/17 20:06:30
+ *
+ */
+public class SerialIdDriftReportAction extends AnAction {
+
+    @Override
+    public ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent event) {
+        event.getPresentation().setEnabledAndVisible(event.getProject() != null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent event) {
+        Project project = event.getProject();
+        if (project == null) {
+            return;
+        }
+        new SerialIdDriftReportTask(project).queue();
+    }
+}
@@ -1,30 +1,128 @@
 package org.wx.quickserializableimpl;
 
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.RecursionManager;
 import com.intellij.psi.*;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.TypeConversionUtil;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+import org.wx.quickserializableimpl.settings.SerialIdGenSettings;
 
-import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.lang.reflect.Modifier;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.*;
 
 public class SerialVersionUIDBuilder {
 
+    private static final String SERIALIZABLE = "java.io.Serializable";
+
+    private static final Key<CachedValue<Long>> SUID_KEY = Key.create("SerialVersionUIDBuilder.SUID");
+
+    private static final Key<CachedValue<Long>> SERIALIZABLE_SUID_KEY = Key.create("SerialVersionUIDBuilder.SERIALIZABLE_SUID");
+
+    /**
+     * 缓存的计算在当前线程真正执行时留下的统计, 由调用方取走
+     */
+    private static final ThreadLocal<RunStats> COMPUTED_STATS = new ThreadLocal<>();
+
+    private static final Key<CachedValue<Set<String>>> INTERFACE_CLOSURE_KEY = Key.create("SerialVersionUIDBuilder.INTERFACE_CLOSURE");
+
     /**
      * 根据 PsiClass 计算默认的 serialVersionUID.
+     *
+     * @return 开启了 "使用编译输出" 但 class 文件不可用时返回 null, 见 {@link #computeDefaultSUID(PsiClass, boolean, SuidComputeContext)}
      */
-    public static long computeDefaultSUID(PsiClass psiClass) {
+    public static @Nullable Long computeDefaultSUID(PsiClass psiClass) {
+        return computeDefaultSUID(psiClass, false);
+    }
+
+    public static @Nullable Long computeDefaultSUID(PsiClass psiClass, boolean assumeSerializable) {
+        return computeDefaultSUID(psiClass, assumeSerializable, new SuidComputeContext());
+    }
+
+    /**
+     * 根据 PsiClass 计算默认的 serialVersionUID.
+     * 结果缓存在类上, 类或者它的父类型所在的文件变化之后才重新计算.
+     * 开启了 "使用编译输出" 时只读取最新的 class 文件, 得到和 JVM 完全一致的值.
+     * class 文件不存在或者不是最新的时返回 null, 不回退到 PSI: 两种算法的结果不同,
+     * 回退会让同一个类的值随编译状态来回变化. 调用方应该跳过这个类, 或者提示先编译.
+     *
+     * @param assumeSerializable 按照已经实现了 java.io.Serializable 来计算, 用于在真正写入 implements 之前提前算好
+     * @param context            同一次运行内共享的缓存
+     */
+    public static @Nullable Long computeDefaultSUID(PsiClass psiClass, boolean assumeSerializable, SuidComputeContext context) {
         if (psiClass.isInterface() || psiClass.isAnnotationType() || psiClass.isEnum() || psiClass.isRecord()) {
             return 0L;
         }
+        context.getStats().increment(RunStats.Counter.SUID_REQUESTS);
+        if (SerialIdGenSettings.getInstance().getState().useCompiledClasses) {
+            Long compiled = CompiledClassSuidEngine.computeDefaultSUID(psiClass, assumeSerializable);
+            context.getStats().increment(compiled != null ? RunStats.Counter.COMPILED_CLASS_HITS : RunStats.Counter.COMPILED_CLASS_MISSING);
+            return compiled;
+        }
+        return computeSourceSUID(psiClass, assumeSerializable, context);
+    }
 
-        try {
-            ByteArrayOutputStream bout = new ByteArrayOutputStream();
-            DataOutputStream dout = new DataOutputStream(bout);
+    /**
+     * 只根据源码计算默认的 serialVersionUID, 不读取 class 文件, 结果同样缓存在类上.
+     * 和历史版本对比时两边都用它, 保证按同一套规则计算.
+     */
+    public static long computeSourceSUID(PsiClass psiClass, boolean assumeSerializable, SuidComputeContext context) {
+        Key<CachedValue<Long>> key = assumeSerializable ? SERIALIZABLE_SUID_KEY : SUID_KEY;
+        // 第一次存下的 provider 会在每次失效后重复使用, 不能捕获本次运行的 context,
+        // 用一次性的 context 计算, 真正计算过时由这里把耗时合并到本次运行
+        long suid = CachedValuesManager.getCachedValue(psiClass, key, () -> {
+            SuidComputeContext computeContext = new SuidComputeContext();
+            long value = doComputeDefaultSUID(psiClass, assumeSerializable, computeContext);
+            COMPUTED_STATS.set(computeContext.getStats());
+            return CachedValueProvider.Result.create(value, getCacheDependencies(psiClass));
+        });
+        RunStats computed = COMPUTED_STATS.get();
+        if (computed != null) {
+            COMPUTED_STATS.remove();
+            context.getStats().addAll(computed);
+            context.getStats().increment(RunStats.Counter.SUID_COMPUTED);
+        }
+        return suid;
+    }
 
+    /**
+     * 只根据源码计算, 但实现的接口集合由调用方给出, 不读取也不写入缓存.
+     * 和历史版本对比时, 父类型在基线版本中实现的接口可能和当前不同, 由调用方按基线版本算好.
+     *
+     * @param interfaceNames 类实现的全部接口(包括父类和父接口上的)的全限定名
+     */
+    public static long computeSourceSUID(PsiClass psiClass, Collection<String> interfaceNames, SuidComputeContext context) {
+        context.getStats().increment(RunStats.Counter.SUID_COMPUTED);
+        return doComputeDefaultSUID(psiClass, false, interfaceNames, context);
+    }
+
+    /**
+     * 不走缓存直接计算, 基准测试用来衡量真实的计算开销.
+     */
+    @VisibleForTesting
+    static long doComputeDefaultSUID(PsiClass psiClass, boolean assumeSerializable, SuidComputeContext context) {
+        return doComputeDefaultSUID(psiClass, assumeSerializable, null, context);
+    }
+
+    /**
+     * @param interfaceNames 为 null 时从 PSI 收集
+     */
+    private static long doComputeDefaultSUID(PsiClass psiClass, boolean assumeSerializable,
+                                             @Nullable Collection<String> interfaceNames, SuidComputeContext context) {
+        if (psiClass.isInterface() || psiClass.isAnnotationType() || psiClass.isEnum() || psiClass.isRecord()) {
+            return 0L;
+        }
+
+        RunStats stats = context.getStats();
+        long start = System.nanoTime();
+        // 直接流式写入线程内复用的摘要, 字节序列和 DataOutputStream 写出的完全一致
+        SuidDigestStream dout = SuidDigestStream.acquire();
+        try {
             // 类名
             String qname = psiClass.getQualifiedName();
             if (qname == null) qname = psiClass.getName();
@@ -36,8 +134,14 @@ public class SerialVersionUIDBuilder {
             dout.writeInt(classMods);
 
             // 收集所有声明的接口（包括父类继承的）并排序
-            String[] interfaceNames = getAllInterfaceNames(psiClass).stream().sorted().toArray(String[]::new);
-            for (String name : interfaceNames) {
+            long closureStart = System.nanoTime();
+            List<String> allInterfaceNames = interfaceNames == null ? getAllInterfaceNames(psiClass) : new ArrayList<>(interfaceNames);
+            stats.stop(RunStats.Phase.INTERFACE_CLOSURE, closureStart);
+            if (assumeSerializable && !allInterfaceNames.contains(SERIALIZABLE)) {
+                allInterfaceNames.add(SERIALIZABLE);
+            }
+            String[] sortedInterfaces = allInterfaceNames.stream().sorted().toArray(String[]::new);
+            for (String name : sortedInterfaces) {
                 dout.writeUTF(name);
             }
 
@@ -54,62 +158,39 @@ public class SerialVersionUIDBuilder {
                 if (((mods & Modifier.PRIVATE) == 0) || ((mods & (Modifier.STATIC | Modifier.TRANSIENT)) == 0)) {
                     dout.writeUTF(field.getName());
                     dout.writeInt(mods);
-                    dout.writeUTF(getSignature(field.getType()));
+                    dout.writeUTF(getSignature(field.getType(), context));
                 }
             }
 
-            if (hasStaticInitializerOrNonConstantStaticField(psiClass)) {
+            long constantStart = System.nanoTime();
+            boolean hasStaticInitializer = hasStaticInitializerOrNonConstantStaticField(psiClass);
+            stats.stop(RunStats.Phase.CONSTANT_EVALUATION, constantStart);
+            if (hasStaticInitializer) {
                 dout.writeUTF("<clinit>");
                 dout.writeInt(Modifier.STATIC);
                 dout.writeUTF("()V");
             }
 
-            // 构造函数：按签名排序
-            PsiMethod[] constructors = psiClass.getConstructors();
-            Arrays.sort(constructors, Comparator.comparing(SerialVersionUIDBuilder::getSignature));
-            for (PsiMethod constructor : constructors) {
-                int mods = getPsiModifiers(constructor) &
-                        (Modifier.PUBLIC | Modifier.PRIVATE | Modifier.PROTECTED |
-                                Modifier.STATIC | Modifier.FINAL | Modifier.SYNCHRONIZED |
-                                Modifier.NATIVE | Modifier.ABSTRACT | Modifier.STRICT);
-                if ((mods & Modifier.PRIVATE) == 0) {
-                    dout.writeUTF("<init>");
-                    dout.writeInt(mods);
-
-                    dout.writeUTF(getSignature(constructor));
-                }
+            // 构造函数：按签名排序, 每个签名只解析一次
+            for (MemberSignature constructor : sortedMemberSignatures(psiClass.getConstructors(), context)) {
+                dout.writeUTF("<init>");
+                dout.writeInt(constructor.mods());
+                dout.writeUTF(constructor.signature());
             }
 
-            // 普通方法：按 name + signature 排序
-            PsiMethod[] methods = psiClass.getMethods();
-            Arrays.sort(methods, Comparator.comparing(PsiMethod::getName).thenComparing(SerialVersionUIDBuilder::getSignature));
-            for (PsiMethod method : methods) {
-                int mods = getPsiModifiers(method) &
-                        (Modifier.PUBLIC | Modifier.PRIVATE | Modifier.PROTECTED |
-                                Modifier.STATIC | Modifier.FINAL | Modifier.SYNCHRONIZED |
-                                Modifier.NATIVE | Modifier.ABSTRACT | Modifier.STRICT);
-                if ((mods & Modifier.PRIVATE) == 0) {
-                    dout.writeUTF(method.getName());
-                    dout.writeInt(mods);
-                    dout.writeUTF(getSignature(method));
-                }
-            }
-
-            dout.flush();
-
-            MessageDigest md = MessageDigest.getInstance("SHA");
-            byte[] hashBytes = md.digest(bout.toByteArray());
-            long hash = 0;
-
-            for (int i = Math.min(hashBytes.length, 8) - 1; i >= 0; i--) {
-                hash = (hash << 8) | (hashBytes[i] & 0xFF);
+            // 普通方法：按 name + signature 排序, 每个签名只解析一次
+            for (MemberSignature method : sortedMemberSignatures(psiClass.getMethods(), context)) {
+                dout.writeUTF(method.name());
+                dout.writeInt(method.mods());
+                dout.writeUTF(method.signature());
             }
-            return hash;
 
+            return dout.finish();
         } catch (IOException e) {
             throw new InternalError(e);
-        } catch (NoSuchAlgorithmException e) {
-            throw new SecurityException(e.getMessage());
+        } finally {
+            dout.release();
+            stats.stop(RunStats.Phase.SUID_COMPUTE, start);
         }
     }
 
@@ -168,44 +249,116 @@ public class SerialVersionUIDBuilder {
     }
 
     private static List<String> getAllInterfaceNames(PsiClass psiClass) {
-        LinkedHashSet<String> set = new LinkedHashSet<>();
-        Queue<PsiClass> queue = new ArrayDeque<>();
-        queue.add(psiClass);
-        while (!queue.isEmpty()) {
-            PsiClass cur = queue.poll();
-            if (cur == null) continue;
-            for (PsiClass intf : cur.getInterfaces()) {
-                if (intf == null) continue;
-                String q = intf.getQualifiedName();
-                if (q == null) q = intf.getName();
-                if (q != null && set.add(q)) {
-                    // 继续加入该接口的 super interfaces
-                    queue.add(intf);
-                }
+        return new ArrayList<>(getInterfaceClosure(psiClass));
+    }
+
+    /**
+     * 类实现的全部接口(包括父类和父接口上的)的名字集合, 缓存在类上, 类或者父类型所在的文件变化后失效.
+     * 同一个父类只算一次, 每个子类只需要把自己直接声明的接口合并到父类的结果里.
+     */
+    private static Set<String> getInterfaceClosure(PsiClass psiClass) {
+        return CachedValuesManager.getCachedValue(psiClass, INTERFACE_CLOSURE_KEY, () -> {
+            // 继承关系有环(代码写错)时不再递归
+            Set<String> closure = RecursionManager.doPreventingRecursion(psiClass, false, () -> computeInterfaceClosure(psiClass));
+            return CachedValueProvider.Result.create(closure == null ? Collections.<String>emptySet() : closure,
+                    getCacheDependencies(psiClass));
+        });
+    }
+
+    /**
+     * 清掉类和所有父类型上缓存的接口集合, 基准测试用来衡量没有缓存时的继承链开销. 需要在读操作中调用.
+     */
+    @VisibleForTesting
+    static void dropInterfaceClosureCache(PsiClass psiClass) {
+        Deque<PsiClass> pending = new ArrayDeque<>(List.of(psiClass));
+        Set<PsiClass> visited = new HashSet<>();
+        while (!pending.isEmpty()) {
+            PsiClass current = pending.pop();
+            if (visited.add(current)) {
+                current.putUserData(INTERFACE_CLOSURE_KEY, null);
+                pending.addAll(List.of(current.getSupers()));
+            }
+        }
+    }
+
+    private static Set<String> computeInterfaceClosure(PsiClass psiClass) {
+        // 父类上的接口
+        PsiClass sup = psiClass.getSuperClass();
+        Set<String> closure = sup == null ? new HashSet<>() : new HashSet<>(getInterfaceClosure(sup));
+        for (PsiClass intf : psiClass.getInterfaces()) {
+            if (intf == null) continue;
+            String q = intf.getQualifiedName();
+            if (q == null) q = intf.getName();
+            if (q != null && closure.add(q)) {
+                // 该接口的 super interfaces
+                closure.addAll(getInterfaceClosure(intf));
             }
-            // 也要处理父类上的接口
-            PsiClass sup = cur.getSuperClass();
-            if (sup != null) queue.add(sup);
         }
-        return new ArrayList<>(set);
+        return Collections.unmodifiableSet(closure);
     }
 
-    private static String getSignature(PsiMethod method) {
+    /**
+     * 默认值和接口集合只取决于类自己所在的文件, 各个父类型所在的文件, 以及项目依赖,
+     * 编辑其他文件时缓存仍然有效, 高亮时只有改过的类才重新计算.
+     * 成员签名里引用的类型只用到名字, 类型改名时引用它的文件也会跟着改.
+     */
+    private static Object[] getCacheDependencies(PsiClass psiClass) {
+        Set<Object> dependencies = new LinkedHashSet<>();
+        dependencies.add(ProjectRootManager.getInstance(psiClass.getProject()));
+        Deque<PsiClass> pending = new ArrayDeque<>(List.of(psiClass));
+        Set<PsiClass> visited = new HashSet<>();
+        while (!pending.isEmpty()) {
+            PsiClass current = pending.pop();
+            if (!visited.add(current)) {
+                continue;
+            }
+            PsiFile file = current.getContainingFile();
+            if (file != null) {
+                dependencies.add(file);
+            }
+            pending.addAll(List.of(current.getSupers()));
+        }
+        return dependencies.toArray();
+    }
+
+    /**
+     * 先为每个非 private 的方法算好修饰符和签名, 再按 name + signature 排序,
+     * 排序比较时不再重复解析类型. 构造函数的 name 都是一样的, 等价于只按签名排序.
+     */
+    private static List<MemberSignature> sortedMemberSignatures(PsiMethod[] methods, SuidComputeContext context) {
+        List<MemberSignature> signatures = new ArrayList<>(methods.length);
+        for (PsiMethod method : methods) {
+            int mods = getPsiModifiers(method) &
+                    (Modifier.PUBLIC | Modifier.PRIVATE | Modifier.PROTECTED |
+                            Modifier.STATIC | Modifier.FINAL | Modifier.SYNCHRONIZED |
+                            Modifier.NATIVE | Modifier.ABSTRACT | Modifier.STRICT);
+            if ((mods & Modifier.PRIVATE) == 0) {
+                signatures.add(new MemberSignature(method.getName(), mods, getSignature(method, context)));
+            }
+        }
+        signatures.sort(Comparator.comparing(MemberSignature::name).thenComparing(MemberSignature::signature));
+        return signatures;
+    }
+
+    private record MemberSignature(String name, int mods, String signature) {
+    }
+
+    private static String getSignature(PsiMethod method, SuidComputeContext context) {
         StringBuilder sb = new StringBuilder();
         sb.append('(');
         for (PsiParameter parameter : method.getParameterList().getParameters()) {
-            sb.append(getSignature(parameter.getType()));
+            sb.append(getSignature(parameter.getType(), context));
         }
         sb.append(')');
         if (method.isConstructor()) {
             sb.append('V');
         } else {
-            sb.append(getSignature(method.getReturnType()));
+            sb.append(getSignature(method.getReturnType(), context));
         }
         return sb.toString();
     }
 
-    private static String getSignature(PsiType type) {
+    private static String getSignature(PsiType type, SuidComputeContext context) {
         if (type == null) {
             return "V"; // void
         }
@@ -223,17 +376,23 @@ public class SerialVersionUIDBuilder {
             if (erasedType.equals(PsiTypes.booleanType())) return "Z";
             if (erasedType.equals(PsiTypes.voidType())) return "V";
         } else if (erasedType instanceof PsiArrayType) {
-            return "[" + getSignature(((PsiArrayType) erasedType).getComponentType());
+            return "[" + getSignature(((PsiArrayType) erasedType).getComponentType(), context);
         } else if (erasedType instanceof PsiClassType) {
             PsiClass psiClass = ((PsiClassType) erasedType).resolve();
             if (psiClass != null) {
-                String qName = psiClass.getQualifiedName();
-                if (qName != null) {
-                    return "L" + qName.replace('.', '/') + ";";
-                }
+                // 同一次运行里 String, List 这类类型反复出现, 描述符只拼一次
+                return context.getTypeDescriptor(psiClass, SerialVersionUIDBuilder::getTypeDescriptor);
             }
         }
 
         return "Ljava/lang/Object;";
     }
+
+    private static String getTypeDescriptor(PsiClass psiClass) {
+        String qName = psiClass.getQualifiedName();
+        if (qName != null) {
+            return "L" + qName.replace('.', '/') + ";";
+        }
+        return "Ljava/lang/Object;";
+    }
 }
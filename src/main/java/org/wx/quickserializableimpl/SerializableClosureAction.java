@@ -0,0 +1,43 @@
+package org.wx.quickserializableimpl;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.wx.quickserializableimpl.core.SerializableClosureTask;
+
+/**
+ * 实现 Serializable 时把字段类型中引用到的项目类一起处理, 避免运行时的 NotSerializableException.
+ *
+ * @author wuxin
+ * @date 2026/10/17 20:44:02
+ *
+ */
+public class SerializableClosureAction extends AnAction {
+
+    @Override
+    public ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent event) {
+        Project project = event.getProject();
+        if (project == null) {
+            Messages.showErrorDialog("No project found!", "Error");
+            return;
+        }
+        VirtualFile[] virtualFiles = event.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        if (virtualFiles == null || virtualFiles.length == 0) {
+            Messages.showErrorDialog("No files or directories selected!", "Error");
+            return;
+        }
+        // 选中的类和字段类型中引用到的项目类一起处理
+        new SerializableClosureTask(project, virtualFiles).queue();
+    }
+
+}
@@ -0,0 +1,38 @@
+package org.wx.quickserializableimpl;
+
+import com.intellij.openapi.util.UserDataHolderBase;
+import com.intellij.psi.PsiClass;
+import com.intellij.util.containers.ContainerUtil;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 一次批量运行内共享的计算缓存, 同一次运行里的所有类共用, 可以在多个线程之间共享.
+ * 运行结束后直接丢弃, 不做失效处理. 其他模块的运行级缓存通过 user data 挂在这里.
+ *
+ * @author wuxin
+ * @date 2026/10/17 13:58:36
+ *
+ */
+public class SuidComputeContext extends UserDataHolderBase {
+
+    /**
+     * 已解析的类型到签名描述符的缓存, 例如 String -> Ljava/lang/String;
+     * 弱引用 key, 不会让 PSI 因为缓存而无法回收
+     */
+    private final Map<PsiClass, String> typeDescriptors = ContainerUtil.createConcurrentWeakMap();
+
+    /**
+     * 本次运行的耗时和计数
+     */
+    private final RunStats stats = new RunStats();
+
+    public RunStats getStats() {
+        return stats;
+    }
+
+    String getTypeDescriptor(PsiClass psiClass, Function<PsiClass, String> descriptor) {
+        return typeDescriptors.computeIfAbsent(psiClass, descriptor);
+    }
+}
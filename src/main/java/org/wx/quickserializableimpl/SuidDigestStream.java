@@ -0,0 +1,130 @@
+package org.wx.quickserializableimpl;
+
+import java.io.UTFDataFormatException;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 计算 serialVersionUID 用的摘要流, 按 {@link java.io.DataOutputStream} 的格式(modified UTF-8, 大端 int)
+ * 直接把字节喂给 SHA 摘要, 不经过中间的 ByteArrayOutputStream.
+ * 每个线程复用一个实例, 只在当前线程内使用.
+ *
+ * @author wuxin
+ * @date 2026/10/17 13:20:11
+ *
+ */
+final class SuidDigestStream {
+
+    private static final ThreadLocal<SuidDigestStream> LOCAL = ThreadLocal.withInitial(SuidDigestStream::new);
+
+    private final MessageDigest digest;
+
+    private final byte[] buffer = new byte[512];
+
+    private final byte[] hashBytes;
+
+    private int count;
+
+    private boolean inUse;
+
+    private SuidDigestStream() {
+        try {
+            digest = MessageDigest.getInstance("SHA");
+        } catch (NoSuchAlgorithmException e) {
+            throw new SecurityException(e.getMessage());
+        }
+        hashBytes = new byte[digest.getDigestLength()];
+    }
+
+    /**
+     * 拿到当前线程的摘要流, 用完必须调用 {@link #finish()}.
+     * 正在使用时(重入)返回一个新的实例.
+     */
+    static SuidDigestStream acquire() {
+        SuidDigestStream stream = LOCAL.get();
+        if (stream.inUse) {
+            stream = new SuidDigestStream();
+        }
+        stream.inUse = true;
+        stream.count = 0;
+        stream.digest.reset();
+        return stream;
+    }
+
+    void writeUTF(String str) throws UTFDataFormatException {
+        int strlen = str.length();
+        int utflen = strlen;
+        for (int i = 0; i < strlen; i++) {
+            char c = str.charAt(i);
+            if (c >= 0x80 || c == 0) {
+                utflen += (c >= 0x800) ? 2 : 1;
+            }
+        }
+        if (utflen > 65535) {
+            throw new UTFDataFormatException("encoded string too long: " + utflen + " bytes");
+        }
+        write(utflen >>> 8);
+        write(utflen);
+        for (int i = 0; i < strlen; i++) {
+            char c = str.charAt(i);
+            if (c != 0 && c < 0x80) {
+                write(c);
+            } else if (c >= 0x800) {
+                write(0xE0 | ((c >> 12) & 0x0F));
+                write(0x80 | ((c >> 6) & 0x3F));
+                write(0x80 | (c & 0x3F));
+            } else {
+                write(0xC0 | ((c >> 6) & 0x1F));
+                write(0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    void writeInt(int v) {
+        write(v >>> 24);
+        write(v >>> 16);
+        write(v >>> 8);
+        write(v);
+    }
+
+    /**
+     * 结束摘要, 取前 8 个字节按小端拼成 serialVersionUID, 和 {@link java.io.ObjectStreamClass} 的算法一致.
+     */
+    long finish() {
+        try {
+            flushBuffer();
+            digest.digest(hashBytes, 0, hashBytes.length);
+            long hash = 0;
+            for (int i = Math.min(hashBytes.length, 8) - 1; i >= 0; i--) {
+                hash = (hash << 8) | (hashBytes[i] & 0xFF);
+            }
+            return hash;
+        } catch (DigestException e) {
+            throw new InternalError(e);
+        } finally {
+            inUse = false;
+        }
+    }
+
+    /**
+     * 计算异常时释放, 不产生结果.
+     */
+    void release() {
+        inUse = false;
+    }
+
+    private void write(int b) {
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    private void flushBuffer() {
+        if (count > 0) {
+            digest.update(buffer, 0, count);
+            count = 0;
+        }
+    }
+}
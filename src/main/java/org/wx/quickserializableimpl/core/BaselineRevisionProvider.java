@@ -0,0 +1,51 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.openapi.extensions.ExtensionPointName;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vcs.VcsException;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * 读取文件在历史版本中的内容, 用于和基线版本对比序列化兼容性.
+ * 具体实现在 Git 插件存在时才注册, 见 quickserializableimpl-git.xml. 会启动外部进程, 不能在 EDT 中调用.
+ *
+ * @author wuxin
+ * @date 2026/10/17 23:18:40
+ *
+ */
+public interface BaselineRevisionProvider {
+
+    ExtensionPointName<BaselineRevisionProvider> EP_NAME =
+            ExtensionPointName.create("org.wx.QuickSerializableImpl.baselineRevisionProvider");
+
+    /**
+     * 没有安装 Git 插件时返回 null
+     */
+    static @Nullable BaselineRevisionProvider getInstance() {
+        return EP_NAME.getExtensionList().stream().findFirst().orElse(null);
+    }
+
+    /**
+     * 把分支, 标签等解析成提交 hash, 作为基线快照的标识
+     *
+     * @param root VCS 根目录
+     */
+    String resolveRevision(Project project, VirtualFile root, String ref) throws VcsException;
+
+    /**
+     * 工作区中相对基线提交被删除的文件, 改名按删除加新增处理, 保证原来的路径也会被检查
+     *
+     * @param root VCS 根目录
+     * @return 相对 VCS 根目录的路径, 使用 / 分隔
+     */
+    List<String> collectDeletedPaths(Project project, VirtualFile root, String revision) throws VcsException;
+
+    /**
+     * @param relativePath 相对 VCS 根目录的路径, 使用 / 分隔
+     * @return 文件在该提交中的原始字节, 当时还不存在时返回 null
+     */
+    byte @Nullable [] loadContent(Project project, VirtualFile root, String revision, String relativePath) throws VcsException;
+}
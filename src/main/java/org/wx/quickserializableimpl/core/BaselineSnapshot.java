@@ -0,0 +1,176 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基线提交中每个文件里的类型和可序列化类的 serialVersionUID, 以紧凑的二进制格式保存在 IDE 的系统目录下.
+ * 基线一侧的源码不会再变, 但其中引用的类型是按当前代码解析的, 所以快照同时以基线提交和当前 HEAD 为标识,
+ * HEAD 变化后重新计算. 同一对提交下一个文件算过一次之后, 重复检查时不再读取和解析历史内容.
+ * 只在单个后台任务内使用, 不是线程安全的.
+ *
+ * @author wuxin
+ * @date 2026/10/17 23:29:13
+ *
+ */
+final class BaselineSnapshot {
+
+    private static final Logger LOG = Logger.getInstance(BaselineSnapshot.class);
+
+    /**
+     * 文件格式或者 serialVersionUID 的计算规则变化时递增, 旧的快照直接丢弃
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * 基线提交中的一个类, 接口和不可序列化的类也记录, 用来按基线版本计算子类实现的接口
+     *
+     * @param name       全限定名
+     * @param superClass 父类的全限定名, 接口和没有 extends 的类为 null
+     * @param interfaces 直接实现(接口是直接继承)的接口的全限定名
+     * @param suid       声明的 serialVersionUID, 没有声明时是计算出的默认值; 不可序列化或不比较时为 null
+     */
+    record BaselineClass(String name, @Nullable String superClass, List<String> interfaces, @Nullable Long suid) {
+    }
+
+    private final Path path;
+
+    private final String revision;
+
+    /**
+     * 相对 VCS 根目录的路径 -> 文件中的可序列化类, 基线中不存在的文件对应空列表
+     */
+    private final Map<String, List<BaselineClass>> files;
+
+    private boolean modified;
+
+    private BaselineSnapshot(Path path, String revision, Map<String, List<BaselineClass>> files) {
+        this.path = path;
+        this.revision = revision;
+        this.files = files;
+    }
+
+    /**
+     * 读取一对提交对应的快照, 不存在或者无法读取时返回空快照
+     *
+     * @param revision        基线提交
+     * @param currentRevision 当前 HEAD 指向的提交
+     */
+    static BaselineSnapshot load(Project project, String revision, String currentRevision) {
+        Path path = getDirectory(project).resolve(revision + "-" + currentRevision + ".bin");
+        Map<String, List<BaselineClass>> files = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() == FORMAT_VERSION) {
+                int fileCount = in.readInt();
+                for (int i = 0; i < fileCount; i++) {
+                    String relativePath = in.readUTF();
+                    int classCount = in.readInt();
+                    List<BaselineClass> classes = new ArrayList<>(classCount);
+                    for (int j = 0; j < classCount; j++) {
+                        classes.add(readClass(in));
+                    }
+                    files.put(relativePath, classes);
+                }
+            }
+        } catch (NoSuchFileException ignored) {
+            // 第一次检查这个提交
+        } catch (IOException e) {
+            LOG.warn("Failed to read serialization baseline " + path, e);
+            files.clear();
+        }
+        return new BaselineSnapshot(path, revision, files);
+    }
+
+    private static Path getDirectory(Project project) {
+        return PathManager.getSystemDir().resolve("quick-serializable-impl").resolve("baseline").resolve(project.getLocationHash());
+    }
+
+    private static BaselineClass readClass(DataInputStream in) throws IOException {
+        String name = in.readUTF();
+        String superClass = in.readBoolean() ? in.readUTF() : null;
+        int interfaceCount = in.readInt();
+        List<String> interfaces = new ArrayList<>(interfaceCount);
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaces.add(in.readUTF());
+        }
+        Long suid = in.readBoolean() ? in.readLong() : null;
+        return new BaselineClass(name, superClass, interfaces, suid);
+    }
+
+    private static void writeClass(DataOutputStream out, BaselineClass baselineClass) throws IOException {
+        out.writeUTF(baselineClass.name());
+        out.writeBoolean(baselineClass.superClass() != null);
+        if (baselineClass.superClass() != null) {
+            out.writeUTF(baselineClass.superClass());
+        }
+        out.writeInt(baselineClass.interfaces().size());
+        for (String name : baselineClass.interfaces()) {
+            out.writeUTF(name);
+        }
+        out.writeBoolean(baselineClass.suid() != null);
+        if (baselineClass.suid() != null) {
+            out.writeLong(baselineClass.suid());
+        }
+    }
+
+    String getRevision() {
+        return revision;
+    }
+
+    /**
+     * @return 还没有计算过这个文件时返回 null
+     */
+    @Nullable List<BaselineClass> get(String relativePath) {
+        return files.get(relativePath);
+    }
+
+    void put(String relativePath, List<BaselineClass> classes) {
+        files.put(relativePath, classes);
+        modified = true;
+    }
+
+    /**
+     * 有新计算的文件时写回磁盘, 先写临时文件再替换, 中途失败不会留下损坏的快照.
+     * 同一个基线在之前的 HEAD 下的快照已经用不上, 一起删掉
+     */
+    void save() throws IOException {
+        if (!modified) {
+            return;
+        }
+        Files.createDirectories(path.getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(files.size());
+            for (Map.Entry<String, List<BaselineClass>> entry : files.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (BaselineClass baselineClass : entry.getValue()) {
+                    writeClass(out, baselineClass);
+                }
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        modified = false;
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(path.getParent(), revision + "-*.bin")) {
+            for (Path file : stale) {
+                if (!file.equals(path)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+}
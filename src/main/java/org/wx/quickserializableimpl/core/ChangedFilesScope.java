@@ -0,0 +1,102 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vcs.FilePath;
+import com.intellij.openapi.vcs.VcsException;
+import com.intellij.openapi.vcs.changes.Change;
+import com.intellij.openapi.vcs.changes.ChangeListManager;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * 只处理 VCS 中有改动的文件, 范围外的文件在扫描阶段就被过滤掉, 不会被解析.
+ *
+ * @param kind 改动的来源
+ * @param ref  {@link Kind#DIFF_AGAINST_REF} 时对比的分支, 标签或提交
+ *
+ * @author wuxin
+ * @date 2026/10/17 22:40:16
+ *
+ */
+public record ChangedFilesScope(Kind kind, @Nullable String ref) {
+
+    public enum Kind {
+        /**
+         * 工作区的全部本地改动, 包括还没有加入版本控制的新文件
+         */
+        LOCAL_CHANGES("Local changes"),
+        /**
+         * 当前活动 changelist 中的改动
+         */
+        ACTIVE_CHANGELIST("Active changelist"),
+        /**
+         * 工作区和指定 ref 之间的差异, 需要 Git 插件
+         */
+        DIFF_AGAINST_REF("Diff against ref");
+
+        private final String displayName;
+
+        Kind(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    /**
+     * 选中范围内有改动的文件, 不能在 EDT 或读操作中调用
+     */
+    public VirtualFile[] restrict(Project project, VirtualFile[] roots) throws VcsException {
+        Set<VirtualFile> rootSet = new HashSet<>(Arrays.asList(roots));
+        List<VirtualFile> files = new ArrayList<>();
+        for (VirtualFile file : collectChangedFiles(project)) {
+            if (file.isValid() && !file.isDirectory() && VfsUtilCore.isUnder(file, rootSet)) {
+                files.add(file);
+            }
+        }
+        return files.toArray(VirtualFile.EMPTY_ARRAY);
+    }
+
+    private Collection<VirtualFile> collectChangedFiles(Project project) throws VcsException {
+        ChangeListManager changeListManager = ChangeListManager.getInstance(project);
+        switch (kind) {
+            case LOCAL_CHANGES -> {
+                Set<VirtualFile> files = new LinkedHashSet<>(changeListManager.getAffectedFiles());
+                for (FilePath path : changeListManager.getUnversionedFilesPaths()) {
+                    VirtualFile file = path.getVirtualFile();
+                    if (file != null) {
+                        files.add(file);
+                    }
+                }
+                return files;
+            }
+            case ACTIVE_CHANGELIST -> {
+                Set<VirtualFile> files = new LinkedHashSet<>();
+                for (Change change : changeListManager.getDefaultChangeList().getChanges()) {
+                    // 删除的文件没有 VirtualFile
+                    VirtualFile file = change.getVirtualFile();
+                    if (file != null) {
+                        files.add(file);
+                    }
+                }
+                return files;
+            }
+            default -> {
+                if (StringUtil.isEmptyOrSpaces(ref)) {
+                    throw new VcsException("No ref specified to compare with");
+                }
+                RefChangedFilesProvider provider = RefChangedFilesProvider.getInstance();
+                if (provider == null) {
+                    throw new VcsException("Comparing with a ref requires the Git plugin");
+                }
+                return provider.collectChangedFiles(project, ref.trim());
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.psi.*;
+
+/**
+ * 计算改动时用到的类的精简描述, {@link SerializableImplAndSerialIdGen#planFile} 按它决定怎么改, 只有计算值时才访问类的 PSI.
+ * 只读取 stub 里就有的信息(类型, implements 列表, 成员名), 不计算字段的初始值, 不会为文件构建 AST.
+ *
+ * @param psiClass               目标类
+ * @param flags                  {@link #INTERFACE} 等标记
+ * @param implementsSerializable implements 中是否直接写了 java.io.Serializable
+ * @param hasSerialId            是否声明了 serialVersionUID
+ *
+ * @author wuxin
+ * @date 2026/10/17 21:24:10
+ *
+ */
+public record ClassDescriptor(SmartPsiElementPointer<PsiClass> psiClass,
+                              int flags,
+                              boolean implementsSerializable,
+                              boolean hasSerialId) {
+
+    public static final int INTERFACE = 1;
+
+    /**
+     * 有 implements 列表, 可以加 Serializable
+     */
+    public static final int CAN_IMPLEMENT = 1 << 1;
+
+    private static final String SERIAL_VERSION_UID = "serialVersionUID";
+
+    public boolean is(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    public static ClassDescriptor of(PsiClass psiClass, SmartPointerManager pointerManager) {
+        int flags = 0;
+        if (psiClass.isInterface()) flags |= INTERFACE;
+        if (psiClass.getImplementsList() != null) flags |= CAN_IMPLEMENT;
+
+        return new ClassDescriptor(pointerManager.createSmartPsiElementPointer(psiClass), flags,
+                implementsSerializable(psiClass), hasSerialId(psiClass));
+    }
+
+    /**
+     * implements 中是否直接写了 java.io.Serializable, 只读 stub
+     */
+    public static boolean implementsSerializable(PsiClass psiClass) {
+        for (PsiClassType type : psiClass.getImplementsListTypes()) {
+            if (type.equalsToText("java.io.Serializable")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 是否声明了 serialVersionUID, 只读 stub
+     */
+    public static boolean hasSerialId(PsiClass psiClass) {
+        return psiClass.findFieldByName(SERIAL_VERSION_UID, false) != null;
+    }
+}
@@ -0,0 +1,30 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.SmartPsiElementPointer;
+
+/**
+ * 单个类需要做的改动, 在读线程里算好, 写的时候直接用.
+ *
+ * @param psiClass              目标类
+ * @param implementSerializable 是否需要加 implements Serializable
+ * @param replaceSerialId       是否需要先删除已有的 serialVersionUID
+ * @param generateSerialId      是否需要生成 serialVersionUID
+ * @param annotateSerial        生成的字段是否加 @Serial
+ * @param serialId              预先算好的 serialVersionUID
+ *
+ * @author wuxin
+ * @date 2026/10/17 10:12:40
+ *
+ */
+public record ClassGenPlan(SmartPsiElementPointer<PsiClass> psiClass,
+                           boolean implementSerializable,
+                           boolean replaceSerialId,
+                           boolean generateSerialId,
+                           boolean annotateSerial,
+                           long serialId) {
+
+    public boolean isEmpty() {
+        return !implementSerializable && !generateSerialId;
+    }
+}
@@ -0,0 +1,51 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.impl.java.stubs.index.JavaStubIndexKeys;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StubIndex;
+
+import java.util.*;
+
+/**
+ * 基于 Java stub 索引的预过滤: 直接从索引统计每个文件里声明了 serialVersionUID 的类, 用于确认覆盖,
+ * 不需要先把所有文件遍历一遍. 只有这些文件才可能已经全部合规, 其余文件计算时不用再检查.
+ * 只读索引和 stub, 不会为文件构建 AST.
+ *
+ * @author wuxin
+ * @date 2026/10/17 11:48:21
+ *
+ */
+public class CompliantFileFilter {
+
+    static final String SERIAL_VERSION_UID = "serialVersionUID";
+
+    /**
+     * 通过索引统计每个文件里声明了 serialVersionUID 的类的个数, 只算会被处理的类: 有全限定名(不含匿名类和局部类)且不是接口.
+     * 需要在智能模式的读线程中调用.
+     *
+     * @return 文件 -> 类的个数, 只包含至少有一个的文件
+     */
+    public static Map<VirtualFile, Integer> countSerialIds(Project project, Collection<VirtualFile> files,
+                                                           ProgressIndicator indicator) {
+        if (files.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        GlobalSearchScope scope = GlobalSearchScope.filesScope(project, files);
+        Map<VirtualFile, Integer> counts = new HashMap<>();
+        StubIndex.getInstance().processElements(JavaStubIndexKeys.FIELDS, SERIAL_VERSION_UID, project, scope, PsiField.class, field -> {
+            indicator.checkCanceled();
+            PsiClass psiClass = field.getContainingClass();
+            PsiFile psiFile = field.getContainingFile();
+            VirtualFile file = psiFile == null ? null : psiFile.getVirtualFile();
+            if (file != null && psiClass != null && !psiClass.isInterface() && psiClass.getQualifiedName() != null) {
+                counts.merge(file, 1, Integer::sum);
+            }
+            return true;
+        });
+        return counts;
+    }
+}
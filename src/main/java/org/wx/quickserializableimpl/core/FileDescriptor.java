@@ -0,0 +1,32 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.SmartPointerManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一个文件中所有类(不含接口)的描述, 计算时只看描述.
+ * 持有智能指针, 批量运行时只在计算计划的读操作中生成, 不要跨块保存.
+ *
+ * @author wuxin
+ * @date 2026/10/17 21:31:44
+ *
+ */
+public record FileDescriptor(VirtualFile file, List<ClassDescriptor> classes) {
+
+    /**
+     * 为指定的类生成描述, 需要在读线程中调用
+     */
+    public static FileDescriptor of(PsiJavaFile javaFile, List<PsiClass> classes) {
+        SmartPointerManager pointerManager = SmartPointerManager.getInstance(javaFile.getProject());
+        List<ClassDescriptor> descriptors = new ArrayList<>(classes.size());
+        for (PsiClass psiClass : classes) {
+            descriptors.add(ClassDescriptor.of(psiClass, pointerManager));
+        }
+        return new FileDescriptor(javaFile.getVirtualFile(), descriptors);
+    }
+}
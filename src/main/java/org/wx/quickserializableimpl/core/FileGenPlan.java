@@ -0,0 +1,35 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.SmartPsiElementPointer;
+
+import java.util.List;
+
+/**
+ * 单个文件的改动计划.
+ *
+ * @param file               目标文件
+ * @param modificationStamp  计算时文件的修改戳, 写入时不一致则重新计算
+ * @param rewriteSerId       用户是否确认覆盖已有的 serialVersionUID
+ * @param imports            需要补的 import, 写入时一次加完
+ * @param serializableName   implements 里写的名字, 短名冲突时是全限定名
+ * @param serialName         注解里写的名字, 短名冲突时是全限定名
+ * @param classes            文件内各个类的改动
+ *
+ * @author wuxin
+ * @date 2026/10/17 10:15:02
+ *
+ */
+public record FileGenPlan(SmartPsiElementPointer<PsiJavaFile> file,
+                          long modificationStamp,
+                          Integer rewriteSerId,
+                          List<SmartPsiElementPointer<PsiClass>> imports,
+                          String serializableName,
+                          String serialName,
+                          List<ClassGenPlan> classes) {
+
+    public boolean isEmpty() {
+        return classes.stream().allMatch(ClassGenPlan::isEmpty);
+    }
+}
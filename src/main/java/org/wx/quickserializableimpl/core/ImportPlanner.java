@@ -0,0 +1,130 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.jetbrains.annotations.Nullable;
+import org.wx.quickserializableimpl.SuidComputeContext;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 计算一个文件要用到 java.io.Serializable / java.io.Serial 时是否需要 import, 以及能不能用短名.
+ * 类的查找结果按 resolve scope 缓存, 同一个模块下的所有文件只查一次. 一次运行共用一个实例, 可以在多个线程中使用.
+ *
+ * @author wuxin
+ * @date 2026/10/17 21:58:36
+ *
+ */
+public class ImportPlanner {
+
+    private static final Key<ImportPlanner> KEY = Key.create("ImportPlanner");
+
+    private final Project project;
+
+    /**
+     * (类的全限定名, resolve scope) -> 找到的类
+     */
+    private final Map<ClassKey, Optional<SmartPsiElementPointer<PsiClass>>> classes = new ConcurrentHashMap<>();
+
+    private record ClassKey(String qualifiedName, GlobalSearchScope scope) {
+    }
+
+    /**
+     * 一个类在文件中的用法
+     *
+     * @param psiClass      找到的类, 找不到时为 null
+     * @param needsImport   需要新加 import
+     * @param referenceText 在代码中引用时写的名字, 有同名冲突时是全限定名
+     */
+    public record ImportDecision(@Nullable SmartPsiElementPointer<PsiClass> psiClass, boolean needsImport, String referenceText) {
+
+        public boolean isAvailable() {
+            return psiClass != null;
+        }
+
+        /**
+         * 不加 import 就能直接用
+         */
+        public boolean isUsableWithoutImport() {
+            return psiClass != null && !needsImport;
+        }
+    }
+
+    private ImportPlanner(Project project) {
+        this.project = project;
+    }
+
+    /**
+     * 取本次运行共用的实例
+     */
+    public static ImportPlanner getInstance(Project project, SuidComputeContext context) {
+        ImportPlanner planner = context.getUserData(KEY);
+        return planner != null ? planner : context.putUserDataIfAbsent(KEY, new ImportPlanner(project));
+    }
+
+    /**
+     * 需要在读线程中调用
+     */
+    public ImportDecision plan(PsiJavaFile javaFile, String qualifiedName) {
+        PsiImportList importList = javaFile.getImportList();
+        GlobalSearchScope scope = javaFile.getResolveScope();
+        // 没有 import 列表的文件(比如 module-info)没法补 import
+        SmartPsiElementPointer<PsiClass> psiClass = importList == null ? null : findClass(qualifiedName, scope);
+        if (psiClass == null) {
+            return new ImportDecision(null, false, qualifiedName);
+        }
+        String shortName = StringUtil.getShortName(qualifiedName);
+        String packageName = StringUtil.getPackageName(qualifiedName);
+        if (importList.findSingleClassImportStatement(qualifiedName) != null) {
+            return new ImportDecision(psiClass, false, shortName);
+        }
+        if (hasConflict(javaFile, importList, shortName, packageName, scope)) {
+            return new ImportDecision(psiClass, false, qualifiedName);
+        }
+        if (importList.findOnDemandImportStatement(packageName) != null) {
+            return new ImportDecision(psiClass, false, shortName);
+        }
+        return new ImportDecision(psiClass, true, shortName);
+    }
+
+    /**
+     * 短名已经被其他类占用: 同名的单类型 import, 文件里同名的类, 同包下的同名类, 或者其他按需导入的包里的同名类
+     */
+    private boolean hasConflict(PsiJavaFile javaFile, PsiImportList importList, String shortName, String packageName,
+                                GlobalSearchScope scope) {
+        for (PsiImportStatement statement : importList.getImportStatements()) {
+            String imported = statement.getQualifiedName();
+            if (imported == null) {
+                continue;
+            }
+            if (statement.isOnDemand()) {
+                if (!imported.equals(packageName) && findClass(imported + "." + shortName, scope) != null) {
+                    return true;
+                }
+            } else if (shortName.equals(StringUtil.getShortName(imported))) {
+                return true;
+            }
+        }
+        for (PsiClass psiClass : javaFile.getClasses()) {
+            if (shortName.equals(psiClass.getName())) {
+                return true;
+            }
+        }
+        String filePackage = javaFile.getPackageName();
+        return !filePackage.equals(packageName)
+                && findClass(StringUtil.getQualifiedName(filePackage, shortName), scope) != null;
+    }
+
+    private @Nullable SmartPsiElementPointer<PsiClass> findClass(String qualifiedName, GlobalSearchScope scope) {
+        return classes.computeIfAbsent(new ClassKey(qualifiedName, scope), key -> {
+            PsiClass psiClass = JavaPsiFacade.getInstance(project).findClass(key.qualifiedName(), key.scope());
+            return psiClass == null ? Optional.empty()
+                    : Optional.of(SmartPointerManager.getInstance(project).createSmartPsiElementPointer(psiClass));
+        }).orElse(null);
+    }
+}
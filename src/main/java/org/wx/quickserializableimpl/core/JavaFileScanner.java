@@ -0,0 +1,74 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.fileTypes.FileTypeRegistry;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.GeneratedSourcesFilter;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.Processor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 基于 {@link ProjectFileIndex} 扫描选中范围内的 Java 源文件.
+ * 只遍历模块内容根下的源码目录, 跳过被排除的目录和生成的源码, 扫描时不加载 PSI.
+ *
+ * @author wuxin
+ * @date 2026/10/17 11:05:48
+ *
+ */
+public class JavaFileScanner {
+
+    /**
+     * 逐个回调选中范围内的 Java 源文件, 需要在读线程中调用. processor 返回 false 时停止扫描.
+     */
+    public static boolean processJavaFiles(Project project, VirtualFile[] roots, Processor<? super VirtualFile> processor) {
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        for (VirtualFile root : roots) {
+            if (root == null || !root.isValid()) {
+                continue;
+            }
+            boolean goOn;
+            if (root.isDirectory()) {
+                goOn = fileIndex.iterateContentUnderDirectory(root, file -> {
+                    ProgressManager.checkCanceled();
+                    return file.isDirectory() || !isCandidate(project, fileIndex, file) || processor.process(file);
+                }, file -> file.isDirectory() || isJavaFile(file));
+            } else {
+                goOn = !isCandidate(project, fileIndex, root) || processor.process(root);
+            }
+            if (!goOn) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 收集选中范围内的 Java 源文件, 选中的目录有重叠时去重.
+     */
+    public static List<VirtualFile> collectJavaFiles(Project project, VirtualFile[] roots) {
+        Set<VirtualFile> files = new LinkedHashSet<>();
+        processJavaFiles(project, roots, file -> {
+            files.add(file);
+            return true;
+        });
+        return new ArrayList<>(files);
+    }
+
+    private static boolean isCandidate(Project project, ProjectFileIndex fileIndex, VirtualFile file) {
+        return isJavaFile(file)
+                && fileIndex.isInSourceContent(file)
+                && !fileIndex.isExcluded(file)
+                && !GeneratedSourcesFilter.isGeneratedSourceByAnyFilter(file, project);
+    }
+
+    private static boolean isJavaFile(VirtualFile file) {
+        return FileTypeRegistry.getInstance().isFileOfType(file, JavaFileType.INSTANCE);
+    }
+}
@@ -0,0 +1,92 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * 在有界线程池上并行地为多个文件执行只读计算.
+ * 每个文件一个非阻塞读操作: 遇到写操作时自动取消并在写操作结束后重新执行, 不会阻塞写入.
+ * 结果按传入文件的顺序返回, 由调用方串行写入.
+ *
+ * @author wuxin
+ * @date 2026/10/17 14:58:10
+ *
+ */
+public class ParallelFilePlanner {
+
+    private static final Logger LOG = Logger.getInstance(ParallelFilePlanner.class);
+
+    private final Project project;
+
+    private final ProgressIndicator indicator;
+
+    private final ExecutorService executor;
+
+    public ParallelFilePlanner(Project project, int parallelism, ProgressIndicator indicator) {
+        this.project = project;
+        this.indicator = indicator;
+        this.executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("SerializableImplAndSerialIdGen", Math.max(1, parallelism));
+    }
+
+    /**
+     * 并行计算一组文件, 不能在 EDT 或读操作中调用. 单个文件计算失败时记录日志并返回 null.
+     *
+     * @param onFileDone 每个文件算完后的回调, 用于更新进度, 可能在任意线程中调用
+     */
+    public <T> List<T> compute(List<VirtualFile> files, Function<VirtualFile, T> readAction, Runnable onFileDone) {
+        return compute(files, VirtualFile::getPresentableUrl, readAction, onFileDone);
+    }
+
+    /**
+     * 同上, 用于不对应 VirtualFile 的任务, 比如已经删除的文件
+     *
+     * @param name 计算失败时写进日志的名字
+     */
+    public <E, T> List<T> compute(List<E> items, Function<E, String> name, Function<E, T> readAction, Runnable onItemDone) {
+        List<Future<T>> futures = new ArrayList<>(items.size());
+        for (E item : items) {
+            futures.add(executor.submit(() -> {
+                try {
+                    return ReadAction.nonBlocking(() -> readAction.apply(item))
+                            .inSmartMode(project)
+                            .wrapProgress(indicator)
+                            .executeSynchronously();
+                } catch (ProcessCanceledException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    LOG.warn("Failed to compute serialVersionUID for " + name.apply(item), e);
+                    return null;
+                } finally {
+                    onItemDone.run();
+                }
+            }));
+        }
+        List<T> results = new ArrayList<>(items.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(ProgressIndicatorUtils.awaitWithCheckCanceled(future, indicator));
+            }
+        } finally {
+            if (results.size() < futures.size()) {
+                futures.forEach(future -> future.cancel(false));
+            }
+        }
+        return results;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,34 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.openapi.extensions.ExtensionPointName;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vcs.VcsException;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+
+/**
+ * 列出工作区相对某个 ref 有改动的文件. 具体实现在 Git 插件存在时才注册, 见 quickserializableimpl-git.xml.
+ *
+ * @author wuxin
+ * @date 2026/10/17 22:42:51
+ *
+ */
+public interface RefChangedFilesProvider {
+
+    ExtensionPointName<RefChangedFilesProvider> EP_NAME =
+            ExtensionPointName.create("org.wx.QuickSerializableImpl.refChangedFilesProvider");
+
+    /**
+     * 没有安装 Git 插件时返回 null
+     */
+    static @Nullable RefChangedFilesProvider getInstance() {
+        return EP_NAME.getExtensionList().stream().findFirst().orElse(null);
+    }
+
+    /**
+     * 包括已修改, 新增以及未加入版本控制的文件, 不包括已删除的文件. 会启动外部进程, 不能在 EDT 中调用
+     */
+    Collection<VirtualFile> collectChangedFiles(Project project, String ref) throws VcsException;
+}
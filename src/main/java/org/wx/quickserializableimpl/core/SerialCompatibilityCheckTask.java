@@ -0,0 +1,625 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.EmptyRunnable;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vcs.ProjectLevelVcsManager;
+import com.intellij.openapi.vcs.VcsException;
+import com.intellij.openapi.vfs.CharsetToolkit;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.encoding.EncodingProjectManager;
+import com.intellij.psi.*;
+import com.intellij.psi.impl.source.PsiFileImpl;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.ClassInheritorsSearch;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.usageView.UsageInfo;
+import com.intellij.usages.*;
+import com.intellij.util.containers.ContainerUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.wx.quickserializableimpl.SerialVersionUIDBuilder;
+import org.wx.quickserializableimpl.SuidComputeContext;
+import org.wx.quickserializableimpl.settings.SerialIdGenSettings;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 序列化兼容性检查: 和基线版本(例如上一个发布标签)对比, 找出 serialVersionUID 发生变化的可序列化类.
+ * 相对基线有改动(包括已经删除)的文件逐个对比, 基线一侧的结果按基线提交和当前 HEAD 保存在 {@link BaselineSnapshot} 中.
+ * 没有改动的文件里, 继承了改动文件中的类的子类也会检查: 父类型在基线中实现的接口或者是否可序列化可能不同.
+ * 两边都用 {@link SerialVersionUIDBuilder#computeSourceSUID} 计算, 声明了 serialVersionUID 时以声明的值为准.
+ * 基线源码中的父类型按基线版本的继承关系展开; 成员签名和常量里引用的其他类型仍按当前代码解析, 这些类型改名时
+ * 引用它们的文件也会改动, 会被当成改动的文件检查.
+ *
+ * @author wuxin
+ * @date 2026/10/17 23:36:47
+ *
+ */
+public class SerialCompatibilityCheckTask extends Task.Backgroundable {
+
+    private static final Logger LOG = Logger.getInstance(SerialCompatibilityCheckTask.class);
+
+    /**
+     * 通知里最多列出的类的个数, 完整的列表在 Find 工具窗口中
+     */
+    private static final int MAX_LISTED = 10;
+
+    private final VirtualFile[] roots;
+
+    private final String ref;
+
+    private final List<Incompatibility> incompatibilities = new ArrayList<>();
+
+    private int checkedFiles;
+
+    private int dependentFiles;
+
+    private String error;
+
+    /**
+     * 一个不兼容的类
+     *
+     * @param element      当前版本中的类, 类已经被删除时是原来所在的文件, 文件也已经删除时为 null
+     * @param className    全限定名
+     * @param baselineSUID 基线版本的 serialVersionUID
+     * @param currentSUID  当前的 serialVersionUID, 类不再可序列化或者已经删除时为 null
+     */
+    private record Incompatibility(@Nullable SmartPsiElementPointer<PsiElement> element, String className,
+                                   long baselineSUID, @Nullable Long currentSUID) {
+    }
+
+    /**
+     * 相对基线有改动的文件
+     *
+     * @param file         当前的文件, 已经删除时为 null
+     * @param root         VCS 根目录
+     * @param relativePath 相对 VCS 根目录的路径
+     */
+    private record ChangedFile(@Nullable VirtualFile file, VirtualFile root, String relativePath, BaselineSnapshot snapshot) {
+
+        String getName() {
+            return relativePath.substring(relativePath.lastIndexOf('/') + 1);
+        }
+    }
+
+    /**
+     * 第一遍读取的结果
+     *
+     * @param baselineTypes  基线版本中的类, 从快照读到时带着 serialVersionUID
+     * @param parsedBaseline 快照中没有时解析出的基线版本的类, 留给第二遍计算, 每个文件只解析一次;
+     *                       是不在项目中的临时 PSI, 不会因为编辑失效
+     * @param currentNames   当前文件中的类名
+     */
+    private record Described(List<BaselineSnapshot.BaselineClass> baselineTypes, List<PsiClass> parsedBaseline,
+                             Set<String> currentNames) {
+    }
+
+    /**
+     * 一个文件的检查结果
+     *
+     * @param baseline          新计算出的基线, 从快照读到时为 null
+     * @param incompatibilities 不兼容的类
+     */
+    private record FileResult(@Nullable List<BaselineSnapshot.BaselineClass> baseline,
+                              List<Incompatibility> incompatibilities) {
+    }
+
+    /**
+     * 类的直接父类型
+     */
+    private record TypeInfo(@Nullable String superClass, List<String> interfaces) {
+
+        static TypeInfo of(BaselineSnapshot.BaselineClass baselineClass) {
+            return new TypeInfo(baselineClass.superClass(), baselineClass.interfaces());
+        }
+
+        static TypeInfo of(PsiClass psiClass) {
+            PsiClassType[] extendsTypes = psiClass.getExtendsListTypes();
+            String superClass = psiClass.isInterface() || extendsTypes.length == 0 ? null : typeName(extendsTypes[0]);
+            PsiClassType[] interfaceTypes = psiClass.isInterface() ? extendsTypes : psiClass.getImplementsListTypes();
+            List<String> interfaces = new ArrayList<>(interfaceTypes.length);
+            for (PsiClassType type : interfaceTypes) {
+                interfaces.add(typeName(type));
+            }
+            return new TypeInfo(superClass, interfaces);
+        }
+
+        /**
+         * 解析不到时(比如基线中引用的类型现在已经删除)按源码中的写法
+         */
+        private static String typeName(PsiClassType type) {
+            PsiClass psiClass = type.resolve();
+            String name = psiClass == null ? null : psiClass.getQualifiedName();
+            if (name == null && psiClass != null) {
+                name = psiClass.getName();
+            }
+            return name != null ? name : type.rawType().getCanonicalText();
+        }
+    }
+
+    /**
+     * 按类名展开实现的全部接口, 和 {@link SerialVersionUIDBuilder} 收集接口的规则一致, 但父类型从 lookup 中取,
+     * 这样可以按基线版本的继承关系展开. 需要在读操作中使用, 不是线程安全的.
+     */
+    private static final class InterfaceClosure {
+
+        private final Function<String, TypeInfo> lookup;
+
+        private final Map<String, Set<String>> closures = new HashMap<>();
+
+        InterfaceClosure(Function<String, TypeInfo> lookup) {
+            this.lookup = lookup;
+        }
+
+        Set<String> of(TypeInfo type) {
+            Set<String> closure = type.superClass() == null ? new HashSet<>() : new HashSet<>(of(type.superClass()));
+            for (String name : type.interfaces()) {
+                if (closure.add(name)) {
+                    closure.addAll(of(name));
+                }
+            }
+            return closure;
+        }
+
+        private Set<String> of(String name) {
+            Set<String> cached = closures.get(name);
+            if (cached != null) {
+                return cached;
+            }
+            // 继承关系有环(代码写错)时不再递归
+            closures.put(name, Set.of());
+            TypeInfo type = lookup.apply(name);
+            Set<String> closure = type == null ? Set.of() : of(type);
+            closures.put(name, closure);
+            return closure;
+        }
+    }
+
+    public SerialCompatibilityCheckTask(@NotNull Project project, VirtualFile[] roots, String ref) {
+        super(project, "Checking serialization compatibility", true);
+        this.roots = roots;
+        this.ref = ref;
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        Project project = getProject();
+        BaselineRevisionProvider provider = BaselineRevisionProvider.getInstance();
+        if (provider == null) {
+            error = "Comparing with a baseline revision requires the Git plugin";
+            return;
+        }
+        indicator.setIndeterminate(true);
+        indicator.setText("Collecting files changed since " + ref + "...");
+        try {
+            // 没有改动的文件源码和基线完全相同, 只有父类型变化时 serialVersionUID 才会变, 由子类检查覆盖
+            VirtualFile[] changed = new ChangedFilesScope(ChangedFilesScope.Kind.DIFF_AGAINST_REF, ref).restrict(project, roots);
+            List<VirtualFile> files = ReadAction.compute(() -> JavaFileScanner.collectJavaFiles(project, changed));
+            check(project, provider, files, indicator);
+        } catch (VcsException e) {
+            error = e.getMessage();
+        }
+    }
+
+    private void check(Project project, BaselineRevisionProvider provider, List<VirtualFile> files,
+                       ProgressIndicator indicator) throws VcsException {
+        // 先串行读取快照中没有的基线内容, 外部进程不能放在读操作里
+        indicator.setText("Reading baseline revision...");
+        ProjectLevelVcsManager vcsManager = ProjectLevelVcsManager.getInstance(project);
+        Map<VirtualFile, BaselineSnapshot> snapshots = new LinkedHashMap<>();
+        List<ChangedFile> changedFiles = new ArrayList<>(files.size());
+        for (VirtualFile file : files) {
+            indicator.checkCanceled();
+            VirtualFile root = vcsManager.getVcsRootFor(file);
+            String relativePath = root == null ? null : VfsUtilCore.getRelativePath(file, root);
+            if (relativePath != null) {
+                changedFiles.add(new ChangedFile(file, root, relativePath, getSnapshot(project, provider, root, snapshots)));
+            }
+        }
+        // 删除的文件没有 VirtualFile, 单独列出, 其中的类要么移到了别的文件, 要么已经不存在
+        Set<VirtualFile> vcsRoots = new LinkedHashSet<>(snapshots.keySet());
+        for (VirtualFile selected : roots) {
+            ContainerUtil.addIfNotNull(vcsRoots, vcsManager.getVcsRootFor(selected));
+        }
+        for (VirtualFile root : vcsRoots) {
+            BaselineSnapshot snapshot = getSnapshot(project, provider, root, snapshots);
+            for (String relativePath : provider.collectDeletedPaths(project, root, snapshot.getRevision())) {
+                String path = root.getPath() + "/" + relativePath;
+                if (relativePath.endsWith(JavaFileType.DOT_DEFAULT_EXTENSION)
+                        && Arrays.stream(roots).anyMatch(selected -> FileUtil.isAncestor(selected.getPath(), path, false))) {
+                    changedFiles.add(new ChangedFile(null, root, relativePath, snapshot));
+                }
+            }
+        }
+        checkedFiles = changedFiles.size();
+        Charset defaultCharset = EncodingProjectManager.getInstance(project).getDefaultCharset();
+        Map<ChangedFile, String> baselineTexts = new HashMap<>();
+        for (ChangedFile changedFile : changedFiles) {
+            indicator.checkCanceled();
+            if (changedFile.snapshot().get(changedFile.relativePath()) == null) {
+                byte[] content = provider.loadContent(project, changedFile.root(),
+                        changedFile.snapshot().getRevision(), changedFile.relativePath());
+                Charset charset = changedFile.file() == null ? defaultCharset : changedFile.file().getCharset();
+                baselineTexts.put(changedFile, content == null ? "" : CharsetToolkit.bytesToString(content, charset));
+            }
+        }
+
+        SuidComputeContext context = new SuidComputeContext();
+        ParallelFilePlanner planner = new ParallelFilePlanner(project,
+                SerialIdGenSettings.getInstance().getEffectiveParallelism(), indicator);
+        try {
+            indicator.setIndeterminate(false);
+            indicator.setText("Reading classes...");
+            // 第一遍: 收集基线中所有改动文件里的类型, 之后按基线版本展开父类型
+            List<Described> described = planner.compute(changedFiles, ChangedFile::relativePath,
+                    changedFile -> describe(project, changedFile, baselineTexts.get(changedFile)), EmptyRunnable.INSTANCE);
+            baselineTexts.clear();
+            Map<String, TypeInfo> baselineTypes = new HashMap<>();
+            Set<String> changedNames = new HashSet<>();
+            Map<ChangedFile, Described> describedFiles = new HashMap<>();
+            for (int i = 0; i < described.size(); i++) {
+                Described result = described.get(i);
+                if (result != null) {
+                    result.baselineTypes().forEach(type -> baselineTypes.put(type.name(), TypeInfo.of(type)));
+                    changedNames.addAll(result.currentNames());
+                    describedFiles.put(changedFiles.get(i), result);
+                }
+            }
+
+            indicator.setText("Computing serialVersionUID...");
+            AtomicInteger computed = new AtomicInteger();
+            List<FileResult> results = planner.compute(changedFiles, ChangedFile::relativePath, changedFile -> checkFile(project,
+                            changedFile, describedFiles.get(changedFile), baselineClosure(project, baselineTypes, changedNames), context),
+                    () -> indicator.setFraction((double) computed.incrementAndGet() / changedFiles.size()));
+            // 解析出的基线 PSI 不再需要
+            describedFiles.clear();
+            for (int i = 0; i < results.size(); i++) {
+                FileResult result = results.get(i);
+                if (result == null) {
+                    continue;
+                }
+                incompatibilities.addAll(result.incompatibilities());
+                if (result.baseline() != null) {
+                    ChangedFile changedFile = changedFiles.get(i);
+                    changedFile.snapshot().put(changedFile.relativePath(), result.baseline());
+                }
+            }
+            for (BaselineSnapshot snapshot : snapshots.values()) {
+                try {
+                    snapshot.save();
+                } catch (IOException e) {
+                    LOG.warn("Failed to save serialization baseline for " + snapshot.getRevision(), e);
+                }
+            }
+
+            // 没有改动的子类: 父类型在基线中实现的接口可能不同
+            indicator.setText("Checking subclasses of changed classes...");
+            indicator.setFraction(0);
+            List<VirtualFile> currentFiles = new ArrayList<>();
+            for (ChangedFile changedFile : changedFiles) {
+                ContainerUtil.addIfNotNull(currentFiles, changedFile.file());
+            }
+            Set<VirtualFile> changedSet = new HashSet<>(currentFiles);
+            Map<VirtualFile, Set<String>> dependents = new LinkedHashMap<>();
+            for (Map<VirtualFile, Set<String>> inheritors : planner.compute(currentFiles,
+                    file -> findInheritors(project, file, changedSet), EmptyRunnable.INSTANCE)) {
+                if (inheritors != null) {
+                    inheritors.forEach((file, names) -> dependents.computeIfAbsent(file, f -> new HashSet<>()).addAll(names));
+                }
+            }
+            dependentFiles = dependents.size();
+            List<VirtualFile> dependentList = new ArrayList<>(dependents.keySet());
+            AtomicInteger checkedDependents = new AtomicInteger();
+            for (List<Incompatibility> result : planner.compute(dependentList, file -> checkDependents(project, file,
+                            dependents.get(file), baselineClosure(project, baselineTypes, changedNames), context),
+                    () -> indicator.setFraction((double) checkedDependents.incrementAndGet() / dependentList.size()))) {
+                if (result != null) {
+                    incompatibilities.addAll(result);
+                }
+            }
+        } finally {
+            planner.shutdown();
+        }
+    }
+
+    private BaselineSnapshot getSnapshot(Project project, BaselineRevisionProvider provider, VirtualFile root,
+                                         Map<VirtualFile, BaselineSnapshot> snapshots) throws VcsException {
+        BaselineSnapshot snapshot = snapshots.get(root);
+        if (snapshot == null) {
+            snapshot = BaselineSnapshot.load(project, provider.resolveRevision(project, root, ref),
+                    provider.resolveRevision(project, root, "HEAD"));
+            snapshots.put(root, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 按基线版本展开父类型: 改动文件中的类型用基线中的继承关系, 只在当前改动文件中存在的类型在基线中不存在,
+     * 其余类型没有改动, 用当前的. 需要在读操作中使用
+     */
+    private static InterfaceClosure baselineClosure(Project project, Map<String, TypeInfo> baselineTypes, Set<String> changedNames) {
+        Function<String, TypeInfo> current = currentLookup(project);
+        return new InterfaceClosure(name -> {
+            TypeInfo type = baselineTypes.get(name);
+            if (type != null || changedNames.contains(name)) {
+                return type;
+            }
+            return current.apply(name);
+        });
+    }
+
+    private static Function<String, TypeInfo> currentLookup(Project project) {
+        JavaPsiFacade facade = JavaPsiFacade.getInstance(project);
+        GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+        return name -> {
+            PsiClass psiClass = facade.findClass(name, scope);
+            return psiClass == null ? null : TypeInfo.of(psiClass);
+        };
+    }
+
+    /**
+     * 第一遍, 需要在读线程中调用
+     *
+     * @param baselineText 快照中没有这个文件时是基线版本的源码, 基线中不存在这个文件时是空字符串
+     */
+    private static Described describe(Project project, ChangedFile changedFile, @Nullable String baselineText) {
+        List<BaselineSnapshot.BaselineClass> baseline = changedFile.snapshot().get(changedFile.relativePath());
+        List<PsiClass> parsedBaseline = List.of();
+        if (baseline == null) {
+            parsedBaseline = parseBaseline(project, changedFile, baselineText);
+            baseline = new ArrayList<>();
+            for (PsiClass psiClass : parsedBaseline) {
+                TypeInfo type = TypeInfo.of(psiClass);
+                baseline.add(new BaselineSnapshot.BaselineClass(psiClass.getQualifiedName(), type.superClass(), type.interfaces(), null));
+            }
+        }
+        Set<String> currentNames = new HashSet<>();
+        PsiJavaFile javaFile = changedFile.file() == null ? null : SerialIdGenPipeline.findJavaFile(project, changedFile.file());
+        if (javaFile != null) {
+            currentNames.addAll(findNamedClasses(javaFile).keySet());
+        }
+        return new Described(baseline, parsedBaseline, currentNames);
+    }
+
+    /**
+     * 第二遍, 需要在读线程中调用
+     *
+     * @param described 第一遍的结果, 快照中没有这个文件时带着解析好的基线版本的类
+     */
+    private static @Nullable FileResult checkFile(Project project, ChangedFile changedFile, @Nullable Described described,
+                                                  InterfaceClosure baselineClosure, SuidComputeContext context) {
+        PsiJavaFile javaFile = changedFile.file() == null ? null : SerialIdGenPipeline.findJavaFile(project, changedFile.file());
+        if (described == null || (changedFile.file() != null && javaFile == null)) {
+            return null;
+        }
+        List<BaselineSnapshot.BaselineClass> baseline = changedFile.snapshot().get(changedFile.relativePath());
+        List<BaselineSnapshot.BaselineClass> computedBaseline = null;
+        if (baseline == null) {
+            // 名字和父类型第一遍已经读过, 和解析出的类一一对应, 这里只补上 serialVersionUID
+            List<PsiClass> parsedBaseline = described.parsedBaseline();
+            computedBaseline = new ArrayList<>(parsedBaseline.size());
+            for (int i = 0; i < parsedBaseline.size(); i++) {
+                BaselineSnapshot.BaselineClass type = described.baselineTypes().get(i);
+                computedBaseline.add(new BaselineSnapshot.BaselineClass(type.name(), type.superClass(), type.interfaces(),
+                        baselineSUID(parsedBaseline.get(i), baselineClosure, context)));
+            }
+            baseline = computedBaseline;
+        }
+
+        Map<String, PsiClass> currentClasses = javaFile == null ? Map.of() : findNamedClasses(javaFile);
+        SmartPointerManager pointerManager = SmartPointerManager.getInstance(project);
+        List<Incompatibility> incompatible = new ArrayList<>();
+        for (BaselineSnapshot.BaselineClass baselineClass : baseline) {
+            if (baselineClass.suid() == null) {
+                continue;
+            }
+            PsiClass psiClass = currentClasses.get(baselineClass.name());
+            if (psiClass == null) {
+                // 类可能被移动到了别的文件
+                psiClass = JavaPsiFacade.getInstance(project).findClass(baselineClass.name(), GlobalSearchScope.projectScope(project));
+            }
+            Long current = psiClass == null ? null : effectiveSUID(psiClass, context);
+            if (!baselineClass.suid().equals(current)) {
+                PsiElement element = psiClass == null ? javaFile : psiClass;
+                incompatible.add(new Incompatibility(element == null ? null : pointerManager.createSmartPsiElementPointer(element),
+                        baselineClass.name(), baselineClass.suid(), current));
+            }
+        }
+        return new FileResult(computedBaseline, incompatible);
+    }
+
+    /**
+     * 解析基线版本的源码, 当前文件还在时按它所在的模块解析其中引用的类型, 已经删除时按整个项目解析
+     */
+    private static List<PsiClass> parseBaseline(Project project, ChangedFile changedFile, @Nullable String baselineText) {
+        if (StringUtil.isEmpty(baselineText)) {
+            return List.of();
+        }
+        PsiFile baselineFile = PsiFileFactory.getInstance(project)
+                .createFileFromText(changedFile.getName(), JavaFileType.INSTANCE, baselineText);
+        PsiJavaFile javaFile = changedFile.file() == null ? null : SerialIdGenPipeline.findJavaFile(project, changedFile.file());
+        if (javaFile != null && baselineFile instanceof PsiFileImpl fileImpl) {
+            fileImpl.setOriginalFile(javaFile);
+        }
+        return new ArrayList<>(findNamedClasses(baselineFile).values());
+    }
+
+    private static Map<String, PsiClass> findNamedClasses(PsiFile file) {
+        Map<String, PsiClass> classes = new LinkedHashMap<>();
+        for (PsiClass psiClass : PsiTreeUtil.findChildrenOfType(file, PsiClass.class)) {
+            if (psiClass.getQualifiedName() != null) {
+                classes.put(psiClass.getQualifiedName(), psiClass);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * 改动文件中的类在没有改动的文件里的子类, 需要在读线程中调用
+     */
+    private static Map<VirtualFile, Set<String>> findInheritors(Project project, VirtualFile file, Set<VirtualFile> changedFiles) {
+        PsiJavaFile javaFile = SerialIdGenPipeline.findJavaFile(project, file);
+        if (javaFile == null) {
+            return Map.of();
+        }
+        Map<VirtualFile, Set<String>> inheritors = new HashMap<>();
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        for (PsiClass psiClass : findNamedClasses(javaFile).values()) {
+            ClassInheritorsSearch.search(psiClass, scope, true).forEach(inheritor -> {
+                PsiFile inheritorFile = inheritor.getContainingFile();
+                VirtualFile virtualFile = inheritorFile == null ? null : inheritorFile.getVirtualFile();
+                if (virtualFile != null && inheritor.getQualifiedName() != null && !changedFiles.contains(virtualFile)) {
+                    inheritors.computeIfAbsent(virtualFile, f -> new HashSet<>()).add(inheritor.getQualifiedName());
+                }
+                return true;
+            });
+        }
+        return inheritors;
+    }
+
+    /**
+     * 检查没有改动的子类, 需要在读线程中调用. 子类自己的源码和基线相同, 只有展开的接口(包括是否可序列化)可能不同,
+     * 接口相同时结果一定相同, 不需要计算
+     */
+    private static List<Incompatibility> checkDependents(Project project, VirtualFile file, Set<String> classNames,
+                                                         InterfaceClosure baselineClosure, SuidComputeContext context) {
+        PsiJavaFile javaFile = SerialIdGenPipeline.findJavaFile(project, file);
+        if (javaFile == null) {
+            return List.of();
+        }
+        InterfaceClosure currentClosure = new InterfaceClosure(currentLookup(project));
+        SmartPointerManager pointerManager = SmartPointerManager.getInstance(project);
+        List<Incompatibility> incompatible = new ArrayList<>();
+        for (PsiClass psiClass : findNamedClasses(javaFile).values()) {
+            if (!classNames.contains(psiClass.getQualifiedName())) {
+                continue;
+            }
+            TypeInfo type = TypeInfo.of(psiClass);
+            if (baselineClosure.of(type).equals(currentClosure.of(type))) {
+                continue;
+            }
+            Long baseline = baselineSUID(psiClass, baselineClosure, context);
+            Long current = effectiveSUID(psiClass, context);
+            if (baseline != null && !baseline.equals(current)) {
+                incompatible.add(new Incompatibility(pointerManager.createSmartPsiElementPointer(psiClass),
+                        psiClass.getQualifiedName(), baseline, current));
+            }
+        }
+        return incompatible;
+    }
+
+    /**
+     * 按基线版本的继承关系计算, 不可序列化或者不比较时返回 null
+     */
+    private static @Nullable Long baselineSUID(PsiClass psiClass, InterfaceClosure baselineClosure, SuidComputeContext context) {
+        if (!isCompared(psiClass)) {
+            return null;
+        }
+        Set<String> interfaces = baselineClosure.of(TypeInfo.of(psiClass));
+        if (!interfaces.contains(CommonClassNames.JAVA_IO_SERIALIZABLE)) {
+            return null;
+        }
+        Long declared = declaredSUID(psiClass);
+        return declared != null ? declared : SerialVersionUIDBuilder.computeSourceSUID(psiClass, interfaces, context);
+    }
+
+    /**
+     * 反序列化时实际比较的 serialVersionUID: 声明了就用声明的值, 否则是默认值.
+     * 接口, 枚举和 record 不比较 serialVersionUID, 返回 null; 不可序列化的类也返回 null
+     */
+    private static @Nullable Long effectiveSUID(PsiClass psiClass, SuidComputeContext context) {
+        if (!isCompared(psiClass) || !InheritanceUtil.isInheritor(psiClass, CommonClassNames.JAVA_IO_SERIALIZABLE)) {
+            return null;
+        }
+        Long declared = declaredSUID(psiClass);
+        return declared != null ? declared : SerialVersionUIDBuilder.computeSourceSUID(psiClass, false, context);
+    }
+
+    private static boolean isCompared(PsiClass psiClass) {
+        return !psiClass.isInterface() && !psiClass.isAnnotationType() && !psiClass.isEnum() && !psiClass.isRecord();
+    }
+
+    private static @Nullable Long declaredSUID(PsiClass psiClass) {
+        PsiField field = psiClass.findFieldByName("serialVersionUID", false);
+        if (field != null && field.hasModifierProperty(PsiModifier.STATIC) && field.computeConstantValue() instanceof Number value) {
+            return value.longValue();
+        }
+        return null;
+    }
+
+    @Override
+    public void onSuccess() {
+        Project project = getProject();
+        if (error != null) {
+            Notifications.Bus.notify(
+                    new Notification(
+                            "SerializableImplement",
+                            "Unable to check serialization compatibility",
+                            error,
+                            NotificationType.ERROR
+                    ), project
+            );
+            return;
+        }
+        if (incompatibilities.isEmpty()) {
+            Notifications.Bus.notify(
+                    new Notification(
+                            "SerializableImplement",
+                            "Serialization compatible",
+                            "No serialVersionUID changed since " + ref + " (" + checkedFiles + " changed and "
+                                    + dependentFiles + " dependent file(s) checked).",
+                            NotificationType.INFORMATION
+                    ), project
+            );
+            return;
+        }
+
+        StringBuilder content = new StringBuilder();
+        List<Usage> usages = new ArrayList<>();
+        for (int i = 0; i < incompatibilities.size(); i++) {
+            Incompatibility incompatibility = incompatibilities.get(i);
+            if (i < MAX_LISTED) {
+                content.append(incompatibility.className()).append(": ").append(incompatibility.baselineSUID()).append("L → ")
+                        .append(incompatibility.currentSUID() == null ? "not Serializable" : incompatibility.currentSUID() + "L")
+                        .append("<br>");
+            }
+            PsiElement element = incompatibility.element() == null ? null : incompatibility.element().getElement();
+            if (element != null) {
+                usages.add(new UsageInfo2UsageAdapter(new UsageInfo(element)));
+            }
+        }
+        if (incompatibilities.size() > MAX_LISTED) {
+            content.append("and ").append(incompatibilities.size() - MAX_LISTED).append(" more");
+        }
+        Notifications.Bus.notify(
+                new Notification(
+                        "SerializableImplement",
+                        incompatibilities.size() + " class(es) incompatible with " + ref,
+                        content.toString(),
+                        NotificationType.WARNING
+                ), project
+        );
+        UsageViewPresentation presentation = new UsageViewPresentation();
+        presentation.setTabText("Serialization Compatibility");
+        presentation.setTargetsNodeText("Classes");
+        presentation.setCodeUsagesString("serialVersionUID changed since " + ref);
+        presentation.setUsagesString("incompatible classes");
+        UsageViewManager.getInstance(project).showUsages(UsageTarget.EMPTY_ARRAY, usages.toArray(Usage.EMPTY_ARRAY), presentation);
+    }
+}
@@ -0,0 +1,185 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.impl.source.PsiFileImpl;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.ui.update.MergingUpdateQueue;
+import com.intellij.util.ui.update.Update;
+import org.wx.quickserializableimpl.SerialVersionUIDBuilder;
+import org.wx.quickserializableimpl.SuidComputeContext;
+import org.wx.quickserializableimpl.settings.SerialIdGenSettings;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 保存时自动更新 serialVersionUID: 保存的文件先攒起来, 一段时间内没有新的保存才统一处理.
+ * 上一次保存的内容由 {@link SerialIdSaveListener} 在文档修改前记下, 处理时按旧内容算出每个类之前的默认值.
+ * 只有字段的值等于之前的默认值(也就是之前生成的), 并且默认值确实变了, 才改成新的默认值;
+ * 手写的固定值(例如 1L)和引用其他常量的值都不动. 所有变化放在同一个写命令里.
+ * 使用编译输出时不自动更新: 保存之后 class 文件一定不是最新的, 算不出准确的值.
+ *
+ * @author wuxin
+ * @date 2026/10/17 18:52:16
+ *
+ */
+@Service(Service.Level.PROJECT)
+public final class SerialIdAutoUpdater implements Disposable {
+
+    private static final String COMMAND_NAME = "Update serialVersionUID";
+
+    /**
+     * 合并保存事件的时间窗口, 毫秒
+     */
+    private static final int MERGE_DELAY = 500;
+
+    private final Project project;
+
+    /**
+     * 等待处理的文件 -> 时间窗口内第一次保存之前磁盘上的内容
+     */
+    private final Map<VirtualFile, CharSequence> pendingFiles = new ConcurrentHashMap<>();
+
+    private final MergingUpdateQueue queue;
+
+    public SerialIdAutoUpdater(Project project) {
+        this.project = project;
+        this.queue = new MergingUpdateQueue("SerialIdAutoUpdater", MERGE_DELAY, true, null, this, null, false);
+    }
+
+    public static SerialIdAutoUpdater getInstance(Project project) {
+        return project.getService(SerialIdAutoUpdater.class);
+    }
+
+    /**
+     * 在文件写入磁盘之前调用, 时间窗口内的多次保存合并成一次处理
+     *
+     * @param savedText 上一次保存的内容, 时间窗口内多次保存时只保留第一次的
+     */
+    public void fileSaved(VirtualFile file, CharSequence savedText) {
+        if (SerialIdGenSettings.getInstance().getState().useCompiledClasses) {
+            return;
+        }
+        pendingFiles.putIfAbsent(file, savedText);
+        queue.queue(Update.create(this, this::flush));
+    }
+
+    private void flush() {
+        Map<VirtualFile, CharSequence> files = new HashMap<>(pendingFiles);
+        files.keySet().forEach(pendingFiles::remove);
+        if (files.isEmpty()) {
+            return;
+        }
+        ReadAction.nonBlocking(() -> computeUpdates(files))
+                .inSmartMode(project)
+                .expireWith(this)
+                .finishOnUiThread(ModalityState.NON_MODAL, this::applyUpdates)
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * 一个需要更新的 serialVersionUID 字段
+     */
+    private record FieldUpdate(SmartPsiElementPointer<PsiField> field, long modificationStamp, long serialId) {
+    }
+
+    private List<FieldUpdate> computeUpdates(Map<VirtualFile, CharSequence> files) {
+        SmartPointerManager pointerManager = SmartPointerManager.getInstance(project);
+        SuidComputeContext context = new SuidComputeContext();
+        List<FieldUpdate> updates = new ArrayList<>();
+        for (Map.Entry<VirtualFile, CharSequence> entry : files.entrySet()) {
+            PsiJavaFile javaFile = SerialIdGenPipeline.findJavaFile(project, entry.getKey());
+            if (javaFile == null) {
+                continue;
+            }
+            Map<String, Long> previousDefaults = null;
+            for (PsiClass psiClass : SerialIdGenPipeline.getClassesFromJavaFile(javaFile)) {
+                Optional<PsiField> field = SerializableImplAndSerialIdGen.findSerialVersionUID(psiClass);
+                // 只处理字面量 long, 引用其他常量或者类型不对的都是手写的
+                if (field.isEmpty() || !(field.get().computeConstantValue() instanceof Long current)
+                        || !InheritanceUtil.isInheritor(psiClass, Serializable.class.getName())) {
+                    continue;
+                }
+                if (previousDefaults == null) {
+                    previousDefaults = computePreviousDefaults(javaFile, entry.getValue(), context);
+                }
+                Long previous = previousDefaults.get(psiClass.getQualifiedName());
+                if (previous == null || current.longValue() != previous) {
+                    // 新加的类, 或者值不是之前生成的
+                    continue;
+                }
+                long serialId = SerialVersionUIDBuilder.computeSourceSUID(psiClass, false, context);
+                if (serialId != previous) {
+                    updates.add(new FieldUpdate(pointerManager.createSmartPsiElementPointer(field.get()),
+                            javaFile.getModificationStamp(), serialId));
+                }
+            }
+        }
+        return updates;
+    }
+
+    /**
+     * 按上一次保存的内容计算各个类的默认值, 引用的类型按当前文件所在的模块解析, 和计算新值时的环境一致
+     */
+    private Map<String, Long> computePreviousDefaults(PsiJavaFile javaFile, CharSequence savedText, SuidComputeContext context) {
+        if (savedText.length() == 0) {
+            return Collections.emptyMap();
+        }
+        PsiFile savedFile = PsiFileFactory.getInstance(project).createFileFromText(javaFile.getName(), JavaFileType.INSTANCE, savedText);
+        if (!(savedFile instanceof PsiJavaFile savedJavaFile)) {
+            return Collections.emptyMap();
+        }
+        if (savedFile instanceof PsiFileImpl fileImpl) {
+            fileImpl.setOriginalFile(javaFile);
+        }
+        Map<String, Long> defaults = new HashMap<>();
+        for (PsiClass psiClass : SerialIdGenPipeline.getClassesFromJavaFile(savedJavaFile)) {
+            String name = psiClass.getQualifiedName();
+            if (name != null && InheritanceUtil.isInheritor(psiClass, Serializable.class.getName())) {
+                defaults.put(name, SerialVersionUIDBuilder.computeSourceSUID(psiClass, false, context));
+            }
+        }
+        return defaults;
+    }
+
+    private void applyUpdates(List<FieldUpdate> updates) {
+        // 计算之后文件又被改过的, 留给下一次保存; 写入前统一检查, 同一文件里前面的修改不影响后面的字段
+        Map<PsiField, Long> fields = new LinkedHashMap<>();
+        Set<PsiFile> files = new LinkedHashSet<>();
+        for (FieldUpdate update : updates) {
+            PsiField field = update.field().getElement();
+            if (field != null && field.getContainingFile().getModificationStamp() == update.modificationStamp()) {
+                fields.put(field, update.serialId());
+                files.add(field.getContainingFile());
+            }
+        }
+        if (fields.isEmpty()) {
+            return;
+        }
+        WriteCommandAction.writeCommandAction(project, files.toArray(PsiFile.EMPTY_ARRAY))
+                .withName(COMMAND_NAME)
+                .run(() -> {
+                    PsiElementFactory factory = JavaPsiFacade.getInstance(project).getElementFactory();
+                    fields.forEach((field, serialId) -> {
+                        if (field.isValid()) {
+                            field.setInitializer(factory.createExpressionFromText(serialId + "L", field));
+                        }
+                    });
+                });
+    }
+
+    @Override
+    public void dispose() {
+        pendingFiles.clear();
+    }
+}
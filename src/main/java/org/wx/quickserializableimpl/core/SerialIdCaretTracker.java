@@ -0,0 +1,59 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.event.CaretEvent;
+import com.intellij.openapi.editor.event.CaretListener;
+import com.intellij.openapi.editor.event.EditorFactoryEvent;
+import com.intellij.openapi.editor.event.EditorFactoryListener;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 跟踪 Java 编辑器中光标的位置, 交给所属项目的 {@link SerialIdPrecomputer} 提前计算.
+ *
+ * @author wuxin
+ * @date 2026/10/18 01:04:11
+ *
+ */
+public class SerialIdCaretTracker implements EditorFactoryListener {
+
+    private static final CaretListener CARET_LISTENER = new CaretListener() {
+        @Override
+        public void caretPositionChanged(@NotNull CaretEvent event) {
+            schedule(event.getEditor());
+        }
+    };
+
+    @Override
+    public void editorCreated(@NotNull EditorFactoryEvent event) {
+        Editor editor = event.getEditor();
+        if (isJavaEditor(editor)) {
+            editor.getCaretModel().addCaretListener(CARET_LISTENER);
+            // 打开文件时光标已经在某个类里
+            schedule(editor);
+        }
+    }
+
+    @Override
+    public void editorReleased(@NotNull EditorFactoryEvent event) {
+        event.getEditor().getCaretModel().removeCaretListener(CARET_LISTENER);
+    }
+
+    private static void schedule(Editor editor) {
+        Project project = editor.getProject();
+        if (project != null && !project.isDisposed()) {
+            SerialIdPrecomputer.getInstance(project).caretMoved(editor);
+        }
+    }
+
+    private static boolean isJavaEditor(Editor editor) {
+        if (editor.getProject() == null || editor.isViewer()) {
+            return false;
+        }
+        VirtualFile file = FileDocumentManager.getInstance().getFile(editor.getDocument());
+        return file != null && JavaFileType.INSTANCE.equals(file.getFileType());
+    }
+}
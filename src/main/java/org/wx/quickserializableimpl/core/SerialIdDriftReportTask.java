@@ -0,0 +1,141 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.impl.java.stubs.index.JavaStubIndexKeys;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.usageView.UsageInfo;
+import com.intellij.usages.*;
+import org.jetbrains.annotations.NotNull;
+import org.wx.quickserializableimpl.SerialVersionUIDBuilder;
+import org.wx.quickserializableimpl.settings.SerialIdGenSettings;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * serialVersionUID 偏差报告: 先从 Java stub 索引({@link JavaStubIndexKeys#FIELDS})找出项目源码里声明了 serialVersionUID 的文件,
+ * 只对这些文件并行计算默认值, 把不一致的字段显示在 Find 工具窗口中.
+ * 声明的值从 stub 中的初始化表达式求出, 不需要为文件构建 AST; 默认值依赖类型解析不能放进索引,
+ * 每次都要重新计算(类没变时命中类上的缓存), 耗时和声明了 serialVersionUID 的类的个数成正比.
+ *
+ * @author wuxin
+ * @date 2026/10/17 19:58:03
+ *
+ */
+public class SerialIdDriftReportTask extends Task.Backgroundable {
+
+    private final List<SmartPsiElementPointer<PsiField>> driftFields = new ArrayList<>();
+
+    public SerialIdDriftReportTask(@NotNull Project project) {
+        super(project, "Finding serialVersionUID drift", true);
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        Project project = getProject();
+        indicator.setIndeterminate(true);
+        indicator.setText("Finding declared serialVersionUIDs...");
+        List<VirtualFile> files = DumbService.getInstance(project).runReadActionInSmartMode(
+                () -> collectDeclaringFiles(project, indicator));
+
+        indicator.setIndeterminate(false);
+        indicator.setText("Computing default serialVersionUID...");
+        ParallelFilePlanner planner = new ParallelFilePlanner(project,
+                SerialIdGenSettings.getInstance().getEffectiveParallelism(), indicator);
+        AtomicInteger computed = new AtomicInteger();
+        try {
+            List<List<SmartPsiElementPointer<PsiField>>> results = planner.compute(files,
+                    file -> findDrift(project, file),
+                    () -> indicator.setFraction((double) computed.incrementAndGet() / files.size()));
+            for (List<SmartPsiElementPointer<PsiField>> result : results) {
+                if (result != null) {
+                    driftFields.addAll(result);
+                }
+            }
+        } finally {
+            planner.shutdown();
+        }
+    }
+
+    /**
+     * 只查项目源码范围, 不遍历库里声明的类
+     */
+    private static List<VirtualFile> collectDeclaringFiles(Project project, ProgressIndicator indicator) {
+        Set<VirtualFile> files = new LinkedHashSet<>();
+        StubIndex.getInstance().processElements(JavaStubIndexKeys.FIELDS, CompliantFileFilter.SERIAL_VERSION_UID, project,
+                GlobalSearchScope.projectScope(project), PsiField.class, field -> {
+                    indicator.checkCanceled();
+                    PsiFile psiFile = field.getContainingFile();
+                    VirtualFile file = psiFile == null ? null : psiFile.getVirtualFile();
+                    if (file != null) {
+                        files.add(file);
+                    }
+                    return true;
+                });
+        return new ArrayList<>(files);
+    }
+
+    private static List<SmartPsiElementPointer<PsiField>> findDrift(Project project, VirtualFile file) {
+        if (!file.isValid()) {
+            return Collections.emptyList();
+        }
+        SmartPointerManager pointerManager = SmartPointerManager.getInstance(project);
+        List<SmartPsiElementPointer<PsiField>> drift = new ArrayList<>();
+        // 同样从 stub 索引取字段, 声明的值按 stub 里的初始化表达式求值, 引用其他常量的也能算出
+        for (PsiField field : StubIndex.getElements(JavaStubIndexKeys.FIELDS, CompliantFileFilter.SERIAL_VERSION_UID,
+                project, GlobalSearchScope.fileScope(project, file), PsiField.class)) {
+            PsiClass psiClass = field.getContainingClass();
+            if (psiClass == null || psiClass.getQualifiedName() == null
+                    || !InheritanceUtil.isInheritor(psiClass, Serializable.class.getName())
+                    || !(field.computeConstantValue() instanceof Number declared)) {
+                continue;
+            }
+            // 使用编译输出但 class 文件不是最新时算不出准确的值, 不报告
+            Long computed = SerialVersionUIDBuilder.computeDefaultSUID(psiClass);
+            if (computed != null && declared.longValue() != computed) {
+                drift.add(pointerManager.createSmartPsiElementPointer(field));
+            }
+        }
+        return drift;
+    }
+
+    @Override
+    public void onSuccess() {
+        Project project = getProject();
+        List<Usage> usages = new ArrayList<>();
+        for (SmartPsiElementPointer<PsiField> pointer : driftFields) {
+            PsiField field = pointer.getElement();
+            if (field != null) {
+                usages.add(new UsageInfo2UsageAdapter(new UsageInfo(field)));
+            }
+        }
+        if (usages.isEmpty()) {
+            Notifications.Bus.notify(
+                    new Notification(
+                            "SerializableImplement",
+                            "No serialVersionUID drift",
+                            "All declared serialVersionUID values match the computed defaults.",
+                            NotificationType.INFORMATION
+                    ), project
+            );
+            return;
+        }
+        UsageViewPresentation presentation = new UsageViewPresentation();
+        presentation.setTabText("serialVersionUID Drift");
+        presentation.setTargetsNodeText("Classes");
+        presentation.setCodeUsagesString("serialVersionUID differs from the computed default");
+        presentation.setUsagesString("serialVersionUID drift");
+        UsageViewManager.getInstance(project).showUsages(UsageTarget.EMPTY_ARRAY, usages.toArray(Usage.EMPTY_ARRAY), presentation);
+    }
+}
@@ -0,0 +1,403 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vcs.VcsException;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import org.jetbrains.annotations.Nullable;
+import org.wx.quickserializableimpl.RunStats;
+import org.wx.quickserializableimpl.SuidComputeContext;
+import org.wx.quickserializableimpl.settings.SerialIdGenSettings;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 批量生成的完整流程: 读线程里扫描, 在线程池里并行计算, 再分小批切回 EDT 串行写入.
+ * 文件按固定大小分块处理, 跨块只保留 VirtualFile, 选中整个源码目录时内存也不会随文件数增长.
+ * 后台任务和无界面的命令行模式共用, 调用方只决定怎么确认覆盖以及写完之后要不要立即保存.
+ * 不能在 EDT 中调用.
+ *
+ * @author wuxin
+ * @date 2026/10/17 18:05:22
+ *
+ */
+public class SerialIdGenPipeline {
+
+    private static final Logger LOG = Logger.getInstance(SerialIdGenPipeline.class);
+
+    /**
+     * 每次切回 EDT 写入的文件数, 保证单次写操作足够短
+     */
+    public static final int WRITE_BATCH_SIZE = 20;
+
+    /**
+     * 每个计算线程一块内分到的文件数
+     */
+    private static final int COMPUTE_WINDOW_PER_THREAD = 16;
+
+    private final Project project;
+
+    private final VirtualFile[] roots;
+
+    private final @Nullable ChangedFilesScope changedFilesScope;
+
+    private final String commandGroupId;
+
+    private final boolean saveAfterBatch;
+
+    private volatile int processedFiles;
+
+    /**
+     * 整次运行共享类型描述符等缓存, 同时记录耗时和计数
+     */
+    private final SuidComputeContext computeContext = new SuidComputeContext();
+
+    /**
+     * @param commandGroupId 整次运行的所有写命令共用的 groupId, 撤销时合并成一步
+     * @param saveAfterBatch 每批写入后立即保存文档, 命令行模式下避免未保存的文档一直占着内存
+     */
+    public SerialIdGenPipeline(Project project, VirtualFile[] roots, String commandGroupId, boolean saveAfterBatch) {
+        this(project, roots, null, commandGroupId, saveAfterBatch);
+    }
+
+    /**
+     * @param changedFilesScope 不为 null 时只处理选中范围内在 VCS 中有改动的文件
+     */
+    public SerialIdGenPipeline(Project project, VirtualFile[] roots, @Nullable ChangedFilesScope changedFilesScope,
+                               String commandGroupId, boolean saveAfterBatch) {
+        this.project = project;
+        this.roots = roots;
+        this.changedFilesScope = changedFilesScope;
+        this.commandGroupId = commandGroupId;
+        this.saveAfterBatch = saveAfterBatch;
+    }
+
+    /**
+     * 运行结果
+     *
+     * @param scannedFiles   扫描到的 Java 文件数
+     * @param classFiles     包含类(不含接口)的文件数
+     * @param processedFiles 实际写入的文件数
+     * @param stats          分阶段耗时和计数
+     */
+    public record Result(int scannedFiles, int classFiles, int processedFiles, RunStats stats) {
+
+        public boolean isNothingToGenerate() {
+            return classFiles == 0;
+        }
+    }
+
+    /**
+     * 存在 serialVersionUID 时询问是否覆盖
+     */
+    @FunctionalInterface
+    public interface OverwriteConfirm {
+
+        /**
+         * @param classCount 已经有 serialVersionUID 的类的个数
+         * @param fileCount  这些类所在的文件数
+         * @return {@link Messages#YES} 表示覆盖已有的值
+         */
+        Integer confirm(int classCount, int fileCount);
+    }
+
+    /**
+     * 计算并写入: 每算完一块就分小批写入
+     *
+     * @throws VcsException 按改动运行时无法从 VCS 获取改动的文件
+     */
+    public Result run(ProgressIndicator indicator, OverwriteConfirm overwriteConfirm) throws VcsException {
+        List<FileGenPlan> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+        Result result = plan(indicator, overwriteConfirm, plan -> plan, plans -> {
+            for (FileGenPlan plan : plans) {
+                batch.add(plan);
+                if (batch.size() >= WRITE_BATCH_SIZE) {
+                    applyBatch(batch, indicator);
+                }
+            }
+        });
+        if (result.scannedFiles() == 0) {
+            return result;
+        }
+        applyBatch(batch, indicator);
+        indicator.setFraction(1.0);
+        writeReport(computeContext.getStats());
+        return new Result(result.scannedFiles(), result.classFiles(), processedFiles, result.stats());
+    }
+
+    /**
+     * 只计算不写入: 每算完一块, 就把块内有改动的文件交给 chunkConsumer, 用于预览.
+     * 预览确认后把算好的计划交给 {@link #apply}, 不需要重新计算.
+     *
+     * @param describe      在计算计划的同一个读操作里调用, 提取展示需要的信息, 避免之后再加载 PSI
+     * @param chunkConsumer 在后台线程中调用, 块内没有需要修改的文件时不调用
+     * @throws VcsException 按改动运行时无法从 VCS 获取改动的文件
+     */
+    public <T> Result plan(ProgressIndicator indicator, OverwriteConfirm overwriteConfirm,
+                           Function<FileGenPlan, T> describe, Consumer<List<T>> chunkConsumer) throws VcsException {
+        indicator.setIndeterminate(true);
+        indicator.setText("Scanning Java files...");
+        RunStats stats = computeContext.getStats();
+        long scanStart = System.nanoTime();
+        // 按改动运行时只扫描有改动的文件, 耗时和改动的多少成正比, 和代码库的大小无关
+        VirtualFile[] scanRoots = changedFilesScope == null ? roots : changedFilesScope.restrict(project, roots);
+        // 扫描只拿 VirtualFile, PSI 在计算每个文件时才加载
+        List<VirtualFile> javaFiles = ReadAction.compute(() -> JavaFileScanner.collectJavaFiles(project, scanRoots));
+        stats.stop(RunStats.Phase.SCAN, scanStart);
+        int scannedFiles = javaFiles.size();
+        stats.add(RunStats.Counter.FILES_SCANNED, scannedFiles);
+        if (javaFiles.isEmpty()) {
+            return new Result(0, 0, 0, stats);
+        }
+
+        int parallelism = SerialIdGenSettings.getInstance().getEffectiveParallelism();
+        int chunkSize = chunkSize(parallelism);
+        ParallelFilePlanner planner = new ParallelFilePlanner(project, parallelism, indicator);
+        try {
+            // 确认覆盖只需要计数, 直接从 stub 索引统计, 不单独遍历一遍文件; 每个文件只在计算计划时读取一次
+            indicator.setText("Counting existing serialVersionUIDs...");
+            long describeStart = System.nanoTime();
+            Map<VirtualFile, Integer> serialIdCounts = ReadAction
+                    .nonBlocking(() -> CompliantFileFilter.countSerialIds(project, javaFiles, indicator))
+                    .inSmartMode(project)
+                    .wrapProgress(indicator)
+                    .executeSynchronously();
+            stats.stop(RunStats.Phase.DESCRIBE, describeStart);
+
+            int serialIdClasses = 0;
+            for (int count : serialIdCounts.values()) {
+                serialIdClasses += count;
+            }
+            Integer rewriteSerId = serialIdClasses > 0 ? overwriteConfirm.confirm(serialIdClasses, serialIdCounts.size()) : 1;
+            // 已经全部合规的文件只在需要覆盖 serialVersionUID 时才处理, 只有声明了 serialVersionUID 的文件可能合规
+            Set<VirtualFile> compliantCandidates = rewriteSerId == Messages.YES ? Set.of() : serialIdCounts.keySet();
+            int classFiles = planChunks(javaFiles, chunkSize, rewriteSerId, compliantCandidates, planner, indicator,
+                    describe, chunkConsumer);
+            return new Result(scannedFiles, classFiles, 0, stats);
+        } finally {
+            planner.shutdown();
+        }
+    }
+
+    /**
+     * 一块并行计算的文件数, 块内的 PSI 在下一块开始前就可以回收
+     */
+    static int chunkSize(int parallelism) {
+        return Math.max(WRITE_BATCH_SIZE, parallelism * COMPUTE_WINDOW_PER_THREAD);
+    }
+
+    /**
+     * 计划和展示信息, 文件没有需要修改的类时 description 为 null
+     */
+    private record Planned<T>(FileGenPlan plan, @Nullable T description) {
+    }
+
+    /**
+     * @param compliantCandidates 可能已经全部合规的文件, 计算时先用 stub 确认, 合规的直接跳过
+     * @return 包含类(不含接口)的文件数, 包括跳过的合规文件
+     */
+    private <T> int planChunks(List<VirtualFile> files, int chunkSize, Integer rewriteSerId, Set<VirtualFile> compliantCandidates,
+                               ParallelFilePlanner planner, ProgressIndicator indicator,
+                               Function<FileGenPlan, T> describe, Consumer<List<T>> chunkConsumer) {
+        RunStats stats = computeContext.getStats();
+        indicator.setText("Generating serialVersionUID...");
+        indicator.setFraction(0);
+        int total = files.size();
+        AtomicInteger computed = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        int classFiles = 0;
+        // 按固定大小分块: 一块并行计算完立即交给调用方, 块内的 PSI 在下一块开始前就可以回收,
+        // 峰值内存只和块大小有关, 和选中的文件数无关
+        for (int from = 0; from < total; from += chunkSize) {
+            indicator.checkCanceled();
+            List<VirtualFile> chunk = files.subList(from, Math.min(total, from + chunkSize));
+            indicator.setText2(chunk.get(0).getPresentableUrl());
+            List<Planned<T>> plans = planner.compute(chunk, file -> {
+                FileGenPlan plan = computePlan(project, file, rewriteSerId, compliantCandidates.contains(file),
+                        skipped, computeContext);
+                return plan == null ? null : new Planned<>(plan, plan.isEmpty() ? null : describe.apply(plan));
+            }, () -> indicator.setFraction((double) computed.incrementAndGet() / total));
+            List<T> descriptions = new ArrayList<>();
+            for (Planned<T> planned : plans) {
+                if (planned == null) {
+                    continue;
+                }
+                classFiles++;
+                countClasses(planned.plan(), stats);
+                if (planned.description() != null) {
+                    descriptions.add(planned.description());
+                }
+            }
+            if (!descriptions.isEmpty()) {
+                chunkConsumer.accept(descriptions);
+            }
+        }
+        stats.add(RunStats.Counter.FILES_SKIPPED, skipped.get());
+        return classFiles + skipped.get();
+    }
+
+    /**
+     * 写入预览时算好的计划, 分小批切回 EDT, 不能在 EDT 中调用.
+     * 计算之后又被修改过的文件在写入时重新计算.
+     *
+     * @return 实际写入的文件数
+     */
+    public int apply(List<FileGenPlan> plans, ProgressIndicator indicator) {
+        indicator.setIndeterminate(false);
+        indicator.setText("Writing serialVersionUID...");
+        List<FileGenPlan> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+        for (int i = 0; i < plans.size(); i++) {
+            batch.add(plans.get(i));
+            if (batch.size() >= WRITE_BATCH_SIZE) {
+                applyBatch(batch, indicator);
+                indicator.setFraction((double) (i + 1) / plans.size());
+            }
+        }
+        applyBatch(batch, indicator);
+        indicator.setFraction(1.0);
+        writeReport(computeContext.getStats());
+        return processedFiles;
+    }
+
+    private static void countClasses(FileGenPlan plan, RunStats stats) {
+        for (ClassGenPlan classPlan : plan.classes()) {
+            boolean modified = classPlan.implementSerializable() || classPlan.generateSerialId();
+            stats.increment(modified ? RunStats.Counter.CLASSES_MODIFIED : RunStats.Counter.CLASSES_UNCHANGED);
+        }
+    }
+
+    private static void writeReport(RunStats stats) {
+        try {
+            LOG.info("serialVersionUID generation finished, report: " + stats.writeReport());
+        } catch (IOException e) {
+            LOG.warn("Failed to write serialVersionUID generation report", e);
+        }
+    }
+
+    /**
+     * 已经写入的文件数, 取消时用来提示
+     */
+    public int getProcessedFiles() {
+        return processedFiles;
+    }
+
+    private void applyBatch(List<FileGenPlan> batch, ProgressIndicator indicator) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // 一批文件放在一个写命令里, 只在批与批之间响应取消, 保证已经写入的文件是完整的
+        RunStats stats = computeContext.getStats();
+        ApplicationManager.getApplication().invokeAndWait(() -> {
+            if (!indicator.isCanceled()) {
+                long writeStart = System.nanoTime();
+                SerializableImplAndSerialIdGen.applyPlans(project, batch, commandGroupId);
+                stats.stop(RunStats.Phase.WRITE, writeStart);
+                stats.increment(RunStats.Counter.WRITE_COMMANDS);
+                processedFiles += batch.size();
+                if (saveAfterBatch) {
+                    saveDocuments(batch);
+                }
+            }
+        }, ModalityState.defaultModalityState());
+        batch.clear();
+        indicator.checkCanceled();
+    }
+
+    private static void saveDocuments(List<FileGenPlan> batch) {
+        FileDocumentManager documentManager = FileDocumentManager.getInstance();
+        for (FileGenPlan plan : batch) {
+            VirtualFile file = plan.file().getVirtualFile();
+            Document document = file == null ? null : documentManager.getCachedDocument(file);
+            if (document != null) {
+                documentManager.saveDocument(document);
+            }
+        }
+    }
+
+    static PsiJavaFile findJavaFile(Project project, VirtualFile file) {
+        if (!file.isValid()) {
+            return null;
+        }
+        return PsiManager.getInstance(project).findFile(file) instanceof PsiJavaFile psiJavaFile ? psiJavaFile : null;
+    }
+
+    /**
+     * 在一个读操作里描述并计算一个文件, 每个文件只读一次
+     *
+     * @param mayBeCompliant 文件里有 serialVersionUID 并且不覆盖, 先用 stub 确认是否全部合规, 合规时不加载 AST 直接跳过
+     * @param skipped        跳过的合规文件数
+     * @return 没有类或者跳过时返回 null
+     */
+    private static FileGenPlan computePlan(Project project, VirtualFile file, Integer rewriteSerId, boolean mayBeCompliant,
+                                           AtomicInteger skipped, SuidComputeContext computeContext) {
+        RunStats stats = computeContext.getStats();
+        long parseStart = System.nanoTime();
+        PsiJavaFile javaFile = findJavaFile(project, file);
+        List<PsiClass> classes = javaFile == null ? List.of() : getClassesFromJavaFile(javaFile);
+        if (mayBeCompliant && !classes.isEmpty() && isCompliant(classes)) {
+            stats.stop(RunStats.Phase.PARSE, parseStart);
+            skipped.incrementAndGet();
+            return null;
+        }
+        if (!classes.isEmpty()) {
+            // findFile 只创建基于 stub 的 PSI, 访问语法树时才真正解析, 生成计划一定会用到 AST, 这里提前加载好计入解析耗时
+            javaFile.getNode();
+        }
+        stats.stop(RunStats.Phase.PARSE, parseStart);
+        if (classes.isEmpty()) {
+            return null;
+        }
+        long planStart = System.nanoTime();
+        try {
+            // 描述和计划在同一个读操作里生成, 智能指针只活到这一块写完
+            FileDescriptor descriptor = FileDescriptor.of(javaFile, classes);
+            return SerializableImplAndSerialIdGen.planFile(project, javaFile, descriptor, rewriteSerId, computeContext);
+        } finally {
+            stats.stop(RunStats.Phase.PLAN, planStart);
+        }
+    }
+
+    /**
+     * 所有类都已经实现 Serializable 并且有 serialVersionUID, 只读 stub
+     */
+    private static boolean isCompliant(List<PsiClass> classes) {
+        for (PsiClass psiClass : classes) {
+            if (!ClassDescriptor.hasSerialId(psiClass) || !ClassDescriptor.implementsSerializable(psiClass)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 获取文件内所有的类, 不包含接口
+    static List<PsiClass> getClassesFromJavaFile(PsiJavaFile javaFile) {
+        List<PsiClass> allClasses = new ArrayList<>();
+        for (PsiClass psiClass : javaFile.getClasses()) {
+            allClasses.addAll(getAllClasses(psiClass));
+        }
+        return allClasses.stream().filter(e -> !e.isInterface()).collect(Collectors.toList());
+    }
+
+    // 递归拿所有字类
+    private static List<PsiClass> getAllClasses(PsiClass psiClass) {
+        List<PsiClass> allClasses = new ArrayList<>();
+        allClasses.add(psiClass);
+        for (PsiClass innerClass : psiClass.getInnerClasses()) {
+            allClasses.addAll(getAllClasses(innerClass));
+        }
+        return allClasses;
+    }
+}
@@ -0,0 +1,197 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.ui.update.MergingUpdateQueue;
+import com.intellij.util.ui.update.Update;
+import org.jetbrains.annotations.Nullable;
+import org.wx.quickserializableimpl.SuidComputeContext;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 光标停下来之后, 在后台非阻塞读操作中提前算好光标所在类的改动计划(包括 serialVersionUID),
+ * 编辑器里的生成操作只需要写入, 不用在 EDT 上解析继承层次和计算哈希.
+ * 结果按 PSI 修改计数缓存, 代码改过之后失效; 代码没改并且光标还在同一个类里时不再启动计算,
+ * 光标移动或者代码修改时正在进行的计算会被取消. 每个类只算一次覆盖时的计划, 不覆盖时的计划由它得到.
+ *
+ * @author wuxin
+ * @date 2026/10/18 00:52:40
+ *
+ */
+@Service(Service.Level.PROJECT)
+public final class SerialIdPrecomputer implements Disposable {
+
+    /**
+     * 光标停留多久之后开始计算, 毫秒
+     */
+    private static final int IDLE_DELAY = 300;
+
+    private final Project project;
+
+    private final MergingUpdateQueue queue;
+
+    private volatile Editor pendingEditor;
+
+    private volatile int pendingOffset;
+
+    private volatile Precomputed precomputed;
+
+    /**
+     * 一个类提前算好的改动
+     *
+     * @param document          类所在的文档
+     * @param classRange          类的范围, 修改计数不变时仍然有效
+     * @param nestedRanges        类里面嵌套的类(内部类, 局部类, 匿名类)的范围, 光标在这些范围内时是另一个类
+     * @param modificationCount   计算时的 PSI 修改计数
+     * @param keepPlan            不覆盖已有 serialVersionUID 时的计划
+     * @param rewritePlan         覆盖已有 serialVersionUID 时的计划, 类没有 serialVersionUID 时和 keepPlan 相同
+     */
+    private record Precomputed(SmartPsiElementPointer<PsiClass> psiClass, Document document,
+                               TextRange classRange, List<TextRange> nestedRanges, long modificationCount,
+                               FileGenPlan keepPlan, FileGenPlan rewritePlan) {
+
+        boolean contains(Document document, int offset) {
+            return this.document == document && classRange.containsOffset(offset)
+                    && nestedRanges.stream().noneMatch(range -> range.containsOffset(offset));
+        }
+    }
+
+    public SerialIdPrecomputer(Project project) {
+        this.project = project;
+        this.queue = new MergingUpdateQueue("SerialIdPrecomputer", IDLE_DELAY, true, null, this, null, false);
+    }
+
+    public static SerialIdPrecomputer getInstance(Project project) {
+        return project.getService(SerialIdPrecomputer.class);
+    }
+
+    /**
+     * 光标移动后在 EDT 中调用, 停留一段时间内的多次移动合并成一次计算
+     */
+    public void caretMoved(Editor editor) {
+        pendingOffset = editor.getCaretModel().getOffset();
+        pendingEditor = editor;
+        queue.queue(Update.create(this, this::precompute));
+    }
+
+    /**
+     * 在 EDT 中调用
+     *
+     * @param rewriteSerId 用户是否确认覆盖已有的 serialVersionUID
+     * @return 提前算好并且仍然有效的计划, 没有时返回 null, 由调用方同步计算
+     */
+    public @Nullable FileGenPlan getPlan(PsiClass psiClass, Integer rewriteSerId) {
+        Precomputed current = precomputed;
+        if (current == null || !isUpToDate(current, psiClass)) {
+            return null;
+        }
+        return rewriteSerId == Messages.YES ? current.rewritePlan() : current.keepPlan();
+    }
+
+    private boolean isUpToDate(Precomputed current, PsiClass psiClass) {
+        return current.modificationCount() == PsiModificationTracker.getInstance(project).getModificationCount()
+                && psiClass.equals(current.psiClass().getElement());
+    }
+
+    private void precompute() {
+        Editor editor = pendingEditor;
+        int offset = pendingOffset;
+        if (editor == null || editor.isDisposed() || isPrecomputed(editor, offset)) {
+            return;
+        }
+        ReadAction.nonBlocking(() -> compute(editor, offset))
+                .withDocumentsCommitted(project)
+                .inSmartMode(project)
+                .expireWith(this)
+                .expireWhen(editor::isDisposed)
+                // 新的计算开始时取消还没算完的旧计算
+                .coalesceBy(this)
+                .submit(AppExecutorUtil.getAppExecutorService())
+                .onSuccess(result -> {
+                    if (result != null) {
+                        precomputed = result;
+                    }
+                });
+    }
+
+    /**
+     * 代码没改过并且光标还在算好的类里, 不用再启动后台计算. 在 EDT 中调用
+     */
+    private boolean isPrecomputed(Editor editor, int offset) {
+        Precomputed current = precomputed;
+        Document document = editor.getDocument();
+        return current != null
+                && current.modificationCount() == PsiModificationTracker.getInstance(project).getModificationCount()
+                && PsiDocumentManager.getInstance(project).isCommitted(document)
+                && current.contains(document, offset);
+    }
+
+    private @Nullable Precomputed compute(Editor editor, int offset) {
+        if (editor.isDisposed()
+                || !(PsiDocumentManager.getInstance(project).getPsiFile(editor.getDocument()) instanceof PsiJavaFile javaFile)) {
+            return null;
+        }
+        PsiElement element = javaFile.findElementAt(offset);
+        PsiClass psiClass = PsiTreeUtil.getParentOfType(element, PsiClass.class);
+        if (psiClass == null || psiClass.isInterface() || !psiClass.isPhysical()) {
+            return null;
+        }
+        Precomputed current = precomputed;
+        if (current != null && isUpToDate(current, psiClass)) {
+            return current;
+        }
+        long modificationCount = PsiModificationTracker.getInstance(project).getModificationCount();
+        FileGenPlan rewritePlan = SerializableImplAndSerialIdGen.planFile(project, javaFile, List.of(psiClass), Messages.YES,
+                new SuidComputeContext());
+        FileGenPlan keepPlan = SerializableImplAndSerialIdGen.findSerialVersionUID(psiClass).isPresent()
+                ? toKeepPlan(rewritePlan)
+                : rewritePlan;
+        List<TextRange> nestedRanges = new ArrayList<>();
+        for (PsiClass nested : PsiTreeUtil.findChildrenOfType(psiClass, PsiClass.class)) {
+            nestedRanges.add(nested.getTextRange());
+        }
+        return new Precomputed(SmartPointerManager.createPointer(psiClass), editor.getDocument(), psiClass.getTextRange(),
+                nestedRanges, modificationCount, keepPlan, rewritePlan);
+    }
+
+    /**
+     * 由覆盖时的计划得到不覆盖时的计划: 已有的 serialVersionUID 不删也不重新生成, 只保留 implements 的改动,
+     * 不用再计算一次哈希. 没有类再加 @Serial 时也不再补它的 import
+     */
+    private static FileGenPlan toKeepPlan(FileGenPlan rewritePlan) {
+        List<ClassGenPlan> classes = new ArrayList<>(rewritePlan.classes().size());
+        for (ClassGenPlan classPlan : rewritePlan.classes()) {
+            classes.add(classPlan.replaceSerialId()
+                    ? new ClassGenPlan(classPlan.psiClass(), classPlan.implementSerializable(), false, false, false, 0L)
+                    : classPlan);
+        }
+        List<SmartPsiElementPointer<PsiClass>> imports = rewritePlan.imports();
+        if (classes.stream().noneMatch(ClassGenPlan::annotateSerial)) {
+            imports = imports.stream()
+                    .filter(pointer -> pointer.getElement() == null
+                            || !Serial.class.getName().equals(pointer.getElement().getQualifiedName()))
+                    .toList();
+        }
+        return new FileGenPlan(rewritePlan.file(), rewritePlan.modificationStamp(), Messages.NO, imports,
+                rewritePlan.serializableName(), rewritePlan.serialName(), classes);
+    }
+
+    @Override
+    public void dispose() {
+        pendingEditor = null;
+        precomputed = null;
+    }
+}
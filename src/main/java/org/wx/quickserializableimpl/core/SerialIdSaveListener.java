@@ -0,0 +1,81 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.FileDocumentManagerListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectLocator;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.wx.quickserializableimpl.settings.SerialIdGenSettings;
+
+/**
+ * 监听 Java 文件的保存, 开启了保存时更新时交给所属项目的 {@link SerialIdAutoUpdater}.
+ * 同时作为文档监听器: 保存后第一次修改之前, 把文档当时的内容(也就是上一次保存的内容)记在文档上,
+ * 保存时直接交出去, 不用在 EDT 上再从磁盘读一遍.
+ *
+ * @author wuxin
+ * @date 2026/10/17 19:03:37
+ *
+ */
+public class SerialIdSaveListener implements FileDocumentManagerListener, DocumentListener {
+
+    /**
+     * 上一次保存的内容, 不可变的快照, 记下时不复制文本
+     */
+    private static final Key<CharSequence> SAVED_TEXT_KEY = Key.create("SerialIdSaveListener.SAVED_TEXT");
+
+    @Override
+    public void beforeDocumentChange(@NotNull DocumentEvent event) {
+        Document document = event.getDocument();
+        if (document.getUserData(SAVED_TEXT_KEY) != null || findJavaFile(document) == null
+                || FileDocumentManager.getInstance().isDocumentUnsaved(document)) {
+            return;
+        }
+        document.putUserData(SAVED_TEXT_KEY, document.getImmutableCharSequence());
+    }
+
+    @Override
+    public void beforeDocumentSaving(@NotNull Document document) {
+        // 不管是否开启都清掉, 下一次修改时重新记下
+        CharSequence savedText = document.getUserData(SAVED_TEXT_KEY);
+        document.putUserData(SAVED_TEXT_KEY, null);
+        VirtualFile file = findJavaFile(document);
+        // 开启之前就已经改过的文档不知道上一次保存的内容, 这次不处理
+        if (file == null || savedText == null) {
+            return;
+        }
+        for (Project project : ProjectLocator.getInstance().getProjectsForFile(file)) {
+            if (!project.isDisposed()) {
+                SerialIdAutoUpdater.getInstance(project).fileSaved(file, savedText);
+            }
+        }
+    }
+
+    @Override
+    public void fileContentReloaded(@NotNull VirtualFile file, @NotNull Document document) {
+        // 从磁盘重新加载后文档和磁盘一致, 之前记下的内容已经过时
+        document.putUserData(SAVED_TEXT_KEY, null);
+    }
+
+    @Override
+    public void unsavedDocumentDropped(@NotNull Document document) {
+        document.putUserData(SAVED_TEXT_KEY, null);
+    }
+
+    private static @Nullable VirtualFile findJavaFile(Document document) {
+        if (!SerialIdGenSettings.getInstance().getState().updateOnSave) {
+            return null;
+        }
+        VirtualFile file = FileDocumentManager.getInstance().getFile(document);
+        if (file == null || !file.isInLocalFileSystem() || !JavaFileType.INSTANCE.equals(file.getFileType())) {
+            return null;
+        }
+        return file;
+    }
+}
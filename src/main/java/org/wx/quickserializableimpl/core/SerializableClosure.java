@@ -0,0 +1,201 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.util.containers.ContainerUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * 按字段类型计算可序列化闭包: 从选中的类出发, 沿着非 static, 非 transient 字段的类型(包括数组元素和泛型参数)
+ * 找到所有会被一起序列化, 但还没有实现 Serializable 的项目源码类.
+ * 每个类在读操作中用 {@link #analyze} 分析一次, 结果只保存类名, 文件和智能指针, 可以分块在多个读操作中逐步加入,
+ * 块与块之间不持有 PSI. 全部加入后按依赖在前的拓扑顺序返回, 有环时按首次访问的顺序打断.
+ * 实例只在一次分析中使用, 不是线程安全的.
+ *
+ * @author wuxin
+ * @date 2026/10/17 20:21:48
+ *
+ */
+public class SerializableClosure {
+
+    /**
+     * 字段引用到的项目类
+     *
+     * @param name 全限定名
+     * @param file 所在的文件, 下一轮按文件分块分析
+     */
+    public record Edge(String name, VirtualFile file) {
+    }
+
+    /**
+     * 一个类的分析结果
+     *
+     * @param needsSerializable 项目源码类, 还没有实现 Serializable, 需要补上
+     * @param fieldTypes        字段引用到的项目类
+     */
+    public record Node(String name, SmartPsiElementPointer<PsiClass> psiClass, VirtualFile file,
+                       boolean needsSerializable, List<Edge> fieldTypes) {
+    }
+
+    /**
+     * 已经分析过的类, 按加入的顺序
+     */
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+    private final Set<String> roots = new LinkedHashSet<>();
+
+    /**
+     * 已经交出去等待分析的类, 避免重复分析
+     */
+    private final Set<String> queued = new HashSet<>();
+
+    /**
+     * 字段类型还没有取出的类
+     */
+    private final List<Node> unexpanded = new ArrayList<>();
+
+    /**
+     * 分析一个类, 需要在读操作中调用
+     *
+     * @return 匿名类等没有全限定名的类返回 null
+     */
+    public static @Nullable Node analyze(PsiClass psiClass) {
+        String name = psiClass.getQualifiedName();
+        PsiFile psiFile = psiClass.getContainingFile();
+        VirtualFile file = psiFile == null ? null : psiFile.getVirtualFile();
+        if (name == null || file == null) {
+            return null;
+        }
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(psiClass.getProject());
+        Set<PsiClass> types = new LinkedHashSet<>();
+        for (PsiField field : psiClass.getFields()) {
+            if (field.hasModifierProperty(PsiModifier.STATIC) || field.hasModifierProperty(PsiModifier.TRANSIENT)) {
+                continue;
+            }
+            collectClasses(field.getType(), types);
+        }
+        List<Edge> edges = new ArrayList<>(types.size());
+        for (PsiClass type : types) {
+            // 库里的类改不了, 也不再往下找
+            VirtualFile typeFile = projectFile(type, fileIndex);
+            if (typeFile != null && type.getQualifiedName() != null) {
+                edges.add(new Edge(type.getQualifiedName(), typeFile));
+            }
+        }
+        boolean needsSerializable = projectFile(psiClass, fileIndex) != null
+                && !psiClass.isInterface() && !psiClass.isEnum()
+                && !(psiClass instanceof PsiAnonymousClass)
+                && !InheritanceUtil.isInheritor(psiClass, Serializable.class.getName());
+        return new Node(name, SmartPointerManager.createPointer(psiClass), file, needsSerializable, edges);
+    }
+
+    /**
+     * 在文件中找到待分析的类并分析, 需要在读操作中调用
+     */
+    public static List<Node> analyze(PsiJavaFile javaFile, Collection<String> classNames) {
+        List<Node> result = new ArrayList<>(classNames.size());
+        for (PsiClass psiClass : SerialIdGenPipeline.getClassesFromJavaFile(javaFile)) {
+            if (classNames.contains(psiClass.getQualifiedName())) {
+                ContainerUtil.addIfNotNull(result, analyze(psiClass));
+            }
+        }
+        return result;
+    }
+
+    public void addRoot(Node node) {
+        roots.add(node.name());
+        add(node);
+    }
+
+    public void add(Node node) {
+        queued.add(node.name());
+        if (nodes.putIfAbsent(node.name(), node) == null) {
+            unexpanded.add(node);
+        }
+    }
+
+    /**
+     * 取出还没有分析过的字段类型, 取出后不会再次返回
+     */
+    public List<Edge> takePendingEdges() {
+        List<Edge> pending = new ArrayList<>();
+        for (Node node : unexpanded) {
+            for (Edge edge : node.fieldTypes()) {
+                if (queued.add(edge.name())) {
+                    pending.add(edge);
+                }
+            }
+        }
+        unexpanded.clear();
+        return pending;
+    }
+
+    /**
+     * @return 选中的类加上需要补 Serializable 的类, 依赖在前
+     */
+    public List<Node> order() {
+        Set<String> visited = new HashSet<>();
+        List<Node> order = new ArrayList<>();
+        // 非递归的后序遍历, 很深的领域模型也不会栈溢出
+        Deque<Map.Entry<Node, Iterator<Edge>>> stack = new ArrayDeque<>();
+        for (String root : roots) {
+            Node rootNode = nodes.get(root);
+            if (rootNode == null || !visited.add(root)) {
+                continue;
+            }
+            stack.push(Map.entry(rootNode, rootNode.fieldTypes().iterator()));
+            while (!stack.isEmpty()) {
+                ProgressManager.checkCanceled();
+                Map.Entry<Node, Iterator<Edge>> top = stack.peek();
+                Iterator<Edge> edges = top.getValue();
+                if (edges.hasNext()) {
+                    Node next = nodes.get(edges.next().name());
+                    if (next != null && visited.add(next.name())) {
+                        stack.push(Map.entry(next, next.fieldTypes().iterator()));
+                    }
+                    continue;
+                }
+                stack.pop();
+                Node node = top.getKey();
+                if (roots.contains(node.name()) || node.needsSerializable()) {
+                    order.add(node);
+                }
+            }
+        }
+        return order;
+    }
+
+    public int getRootCount() {
+        return roots.size();
+    }
+
+    private static @Nullable VirtualFile projectFile(PsiClass psiClass, ProjectFileIndex fileIndex) {
+        PsiFile file = psiClass.getContainingFile();
+        VirtualFile virtualFile = file == null ? null : file.getVirtualFile();
+        return file instanceof PsiJavaFile && virtualFile != null && psiClass.isPhysical()
+                && fileIndex.isInSourceContent(virtualFile) ? virtualFile : null;
+    }
+
+    private static void collectClasses(PsiType type, Set<PsiClass> classes) {
+        type = type.getDeepComponentType();
+        if (type instanceof PsiWildcardType wildcardType) {
+            if (wildcardType.getBound() != null) {
+                collectClasses(wildcardType.getBound(), classes);
+            }
+        } else if (type instanceof PsiClassType classType) {
+            PsiClass psiClass = classType.resolve();
+            if (psiClass != null && !(psiClass instanceof PsiTypeParameter)) {
+                classes.add(psiClass);
+            }
+            for (PsiType parameter : classType.getParameters()) {
+                collectClasses(parameter, classes);
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.EmptyRunnable;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.util.containers.ContainerUtil;
+import org.jetbrains.annotations.NotNull;
+import org.wx.quickserializableimpl.SuidComputeContext;
+import org.wx.quickserializableimpl.settings.SerialIdGenSettings;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 按字段类型闭包批量生成: 选中的类和它们字段中引用到的所有项目类一起实现 Serializable 并生成 serialVersionUID.
+ * 已有的 serialVersionUID 保持不变.
+ * 分析和生成都和 {@link SerialIdGenPipeline} 一样按块并行, 块与块之间只保留类名和智能指针, 大项目中不会同时持有所有类的 PSI.
+ *
+ * @author wuxin
+ * @date 2026/10/17 20:36:15
+ *
+ */
+public class SerializableClosureTask extends Task.Backgroundable {
+
+    private final VirtualFile[] virtualFiles;
+
+    private final String commandGroupId = "SerializableImplAndSerialIdGen." + UUID.randomUUID();
+
+    private int closureClasses;
+
+    private int processedFiles;
+
+    public SerializableClosureTask(@NotNull Project project, VirtualFile[] virtualFiles) {
+        super(project, "Generating serialVersionUID for field types", true);
+        this.virtualFiles = virtualFiles;
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        Project project = getProject();
+        indicator.setIndeterminate(true);
+        indicator.setText("Scanning Java files...");
+        List<VirtualFile> javaFiles = ReadAction.compute(() -> JavaFileScanner.collectJavaFiles(project, virtualFiles));
+
+        int parallelism = SerialIdGenSettings.getInstance().getEffectiveParallelism();
+        int chunkSize = SerialIdGenPipeline.chunkSize(parallelism);
+        ParallelFilePlanner planner = new ParallelFilePlanner(project, parallelism, indicator);
+        try {
+            indicator.setText("Analyzing field types...");
+            SerializableClosure closure = new SerializableClosure();
+            for (List<VirtualFile> chunk : split(javaFiles, chunkSize)) {
+                for (List<SerializableClosure.Node> nodes : planner.compute(chunk, file -> analyzeRoots(project, file), EmptyRunnable.INSTANCE)) {
+                    if (nodes != null) {
+                        nodes.forEach(closure::addRoot);
+                    }
+                }
+            }
+            // 逐层展开字段类型, 每一层按文件分块分析
+            for (List<SerializableClosure.Edge> pending = closure.takePendingEdges(); !pending.isEmpty();
+                 pending = closure.takePendingEdges()) {
+                indicator.setText2(pending.size() + " field type(s)");
+                Map<VirtualFile, Set<String>> namesByFile = new LinkedHashMap<>();
+                for (SerializableClosure.Edge edge : pending) {
+                    namesByFile.computeIfAbsent(edge.file(), f -> new HashSet<>()).add(edge.name());
+                }
+                List<VirtualFile> files = new ArrayList<>(namesByFile.keySet());
+                for (List<VirtualFile> chunk : split(files, chunkSize)) {
+                    for (List<SerializableClosure.Node> nodes : planner.compute(chunk,
+                            file -> analyzeClasses(project, file, namesByFile.get(file)), EmptyRunnable.INSTANCE)) {
+                        if (nodes != null) {
+                            nodes.forEach(closure::add);
+                        }
+                    }
+                }
+            }
+            indicator.setText2(null);
+
+            // 文件 -> 文件中要处理的类, 文件按拓扑顺序中第一次出现的位置排列
+            List<SerializableClosure.Node> order = closure.order();
+            closureClasses = order.size() - closure.getRootCount();
+            Map<VirtualFile, List<SmartPsiElementPointer<PsiClass>>> classesByFile = new LinkedHashMap<>();
+            for (SerializableClosure.Node node : order) {
+                classesByFile.computeIfAbsent(node.file(), f -> new ArrayList<>()).add(node.psiClass());
+            }
+
+            indicator.setIndeterminate(false);
+            indicator.setText("Generating serialVersionUID...");
+            List<VirtualFile> files = new ArrayList<>(classesByFile.keySet());
+            SuidComputeContext computeContext = new SuidComputeContext();
+            AtomicInteger computed = new AtomicInteger();
+            List<FileGenPlan> batch = new ArrayList<>(SerialIdGenPipeline.WRITE_BATCH_SIZE);
+            for (List<VirtualFile> chunk : split(files, chunkSize)) {
+                List<FileGenPlan> plans = planner.compute(chunk,
+                        file -> planFile(project, file, classesByFile.get(file), computeContext),
+                        () -> indicator.setFraction((double) computed.incrementAndGet() / files.size()));
+                for (FileGenPlan plan : plans) {
+                    if (plan != null && !plan.isEmpty()) {
+                        batch.add(plan);
+                    }
+                    if (batch.size() >= SerialIdGenPipeline.WRITE_BATCH_SIZE) {
+                        applyBatch(project, batch, indicator);
+                    }
+                }
+            }
+            applyBatch(project, batch, indicator);
+        } finally {
+            planner.shutdown();
+        }
+    }
+
+    private static <T> List<List<T>> split(List<T> list, int chunkSize) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += chunkSize) {
+            chunks.add(list.subList(from, Math.min(list.size(), from + chunkSize)));
+        }
+        return chunks;
+    }
+
+    private static List<SerializableClosure.Node> analyzeRoots(Project project, VirtualFile file) {
+        PsiJavaFile javaFile = SerialIdGenPipeline.findJavaFile(project, file);
+        if (javaFile == null) {
+            return List.of();
+        }
+        List<SerializableClosure.Node> nodes = new ArrayList<>();
+        for (PsiClass psiClass : SerialIdGenPipeline.getClassesFromJavaFile(javaFile)) {
+            ContainerUtil.addIfNotNull(nodes, SerializableClosure.analyze(psiClass));
+        }
+        return nodes;
+    }
+
+    private static List<SerializableClosure.Node> analyzeClasses(Project project, VirtualFile file, Set<String> classNames) {
+        PsiJavaFile javaFile = SerialIdGenPipeline.findJavaFile(project, file);
+        return javaFile == null ? List.of() : SerializableClosure.analyze(javaFile, classNames);
+    }
+
+    private static FileGenPlan planFile(Project project, VirtualFile file, List<SmartPsiElementPointer<PsiClass>> pointers,
+                                        SuidComputeContext computeContext) {
+        PsiJavaFile javaFile = SerialIdGenPipeline.findJavaFile(project, file);
+        List<PsiClass> classes = new ArrayList<>(pointers.size());
+        for (SmartPsiElementPointer<PsiClass> pointer : pointers) {
+            PsiClass psiClass = pointer.getElement();
+            if (psiClass != null) {
+                classes.add(psiClass);
+            }
+        }
+        if (javaFile == null || classes.isEmpty()) {
+            return null;
+        }
+        return SerializableImplAndSerialIdGen.planFile(project, javaFile, classes, Messages.NO, computeContext);
+    }
+
+    private void applyBatch(Project project, List<FileGenPlan> batch, ProgressIndicator indicator) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        ApplicationManager.getApplication().invokeAndWait(() -> {
+            if (!indicator.isCanceled()) {
+                SerializableImplAndSerialIdGen.applyPlans(project, batch, commandGroupId);
+                processedFiles += batch.size();
+            }
+        }, ModalityState.defaultModalityState());
+        batch.clear();
+        indicator.checkCanceled();
+    }
+
+    @Override
+    public void onSuccess() {
+        Notifications.Bus.notify(
+                new Notification(
+                        "SerializableImplement",
+                        "Generated successfully.",
+                        processedFiles + " file(s) updated, including " + closureClasses
+                                + " class(es) reachable through field types.",
+                        NotificationType.INFORMATION
+                ), getProject()
+        );
+    }
+
+    @Override
+    public void onCancel() {
+        Notifications.Bus.notify(
+                new Notification(
+                        "SerializableImplement",
+                        "Generation cancelled.",
+                        "Generation was cancelled, " + processedFiles + " file(s) have already been processed.",
+                        NotificationType.WARNING
+                ), getProject()
+        );
+    }
+}
@@ -7,7 +7,10 @@ import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
 import com.intellij.psi.*;
+import org.jetbrains.annotations.Nullable;
+import org.wx.quickserializableimpl.RunStats;
 import org.wx.quickserializableimpl.SerialVersionUIDBuilder;
+import org.wx.quickserializableimpl.SuidComputeContext;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -22,6 +25,8 @@ import java.util.stream.Collectors;
  */
 public class SerializableImplAndSerialIdGen {
 
+    private static final String COMMAND_NAME = "Serializable Impl And Gen SerialId";
+
     public static void doSerializableImplAndSerialIdGen(Project project,
                                                  PsiFile psiFile,
                                                  List<PsiClass> classes, Integer rewriteSerId){
@@ -40,47 +45,158 @@ public class SerializableImplAndSerialIdGen {
             }
 
 
-//            PsiClass[] classes = javaFile.getClasses();
-            PsiImportList importList = javaFile.getImportList();
-            PsiElementFactory factory = JavaPsiFacade.getInstance(project).getElementFactory();
-            for (PsiClass psiClass : classes) {
-                if (psiClass.isInterface() || !psiClass.isPhysical()) {
-                    continue;
-                }
-                PsiReferenceList implementsList = psiClass.getImplementsList();
-                // 接口实现
-                WriteCommandAction.runWriteCommandAction(project, () -> {
-                    Set<String> importedList = try2ImportNeed2Import(Serializable.class.getName(),javaFile, importList, project, factory);
-                    // 实现 Serializable 接口
-
-                    if (implementsList != null &&
-                            importedList.contains("java.io.Serializable") &&
-                            !Arrays.stream(psiClass.getImplementsListTypes()).anyMatch(t -> t.equalsToText("java.io.Serializable"))) {
-
-                        PsiJavaCodeReferenceElement ref =
-                                factory.createReferenceFromText("Serializable", psiClass);
-                        implementsList.add(ref);
-                    }
-                });
-
-                // 添加 serialVersionUID
-                Optional<PsiField> serialVersionUID = Arrays.stream(psiClass.getFields()).filter(filed -> filed.getName().equals("serialVersionUID")).findFirst();
-                if(serialVersionUID.isPresent()){
-                    if (rewriteSerId == Messages.YES) {
-                        WriteCommandAction.runWriteCommandAction(project, () -> {
-                            serialVersionUID.get().delete();
-                            Set<String> importedList = try2ImportNeed2Import(Serializable.class.getName(),javaFile, importList, project,factory);
-                            generateSerId(importedList,project,psiClass);
-                        });
-                    }
-                    continue;
+            SuidComputeContext context = new SuidComputeContext();
+            FileGenPlan plan = planFile(project, javaFile, classes, rewriteSerId, context);
+            if (context.getStats().getCount(RunStats.Counter.COMPILED_CLASS_MISSING) > 0) {
+                Notifications.Bus.notify(
+                        new Notification(
+                                "SerializableImplement",
+                                "Unable to generate",
+                                "The compiled class is missing or out of date, build the project first "
+                                        + "or turn off computing from compiled classes in the settings.",
+                                NotificationType.WARNING
+                        ), project
+                );
+            }
+            applyPlan(project, plan);
+        }
+    }
+
+    /**
+     * 在读线程中算出文件需要的全部改动, 包括 serialVersionUID 的值和需要补的 import, 不修改 PSI.
+     */
+    public static FileGenPlan planFile(Project project,
+                                       PsiJavaFile javaFile,
+                                       List<PsiClass> classes, Integer rewriteSerId,
+                                       SuidComputeContext context) {
+        return planFile(project, javaFile, FileDescriptor.of(javaFile, classes), rewriteSerId, context);
+    }
+
+    /**
+     * 按扫描时生成的类描述计算改动, 只有计算 serialVersionUID 时才访问类的 PSI.
+     */
+    public static FileGenPlan planFile(Project project,
+                                       PsiJavaFile javaFile,
+                                       FileDescriptor descriptor, Integer rewriteSerId,
+                                       SuidComputeContext context) {
+        SmartPointerManager pointerManager = SmartPointerManager.getInstance(project);
+        // 类的查找结果在整次运行内按 resolve scope 共用
+        ImportPlanner importPlanner = ImportPlanner.getInstance(project, context);
+        ImportPlanner.ImportDecision serializable = importPlanner.plan(javaFile, Serializable.class.getName());
+        ImportPlanner.ImportDecision serial = null;
+        List<ClassGenPlan> classPlans = new ArrayList<>();
+        for (ClassDescriptor classDescriptor : descriptor.classes()) {
+            if (classDescriptor.is(ClassDescriptor.INTERFACE)) {
+                continue;
+            }
+            PsiClass psiClass = classDescriptor.psiClass().getElement();
+            if (psiClass == null || !psiClass.isPhysical()) {
+                continue;
+            }
+            boolean implement = classDescriptor.is(ClassDescriptor.CAN_IMPLEMENT)
+                    && serializable.isAvailable()
+                    && !classDescriptor.implementsSerializable();
+            boolean hasSerialId = classDescriptor.hasSerialId();
+            boolean generate = !hasSerialId || rewriteSerId == Messages.YES;
+            boolean replace = hasSerialId && generate;
+            // 新生成的字段才补 @Serial 的 import, 覆盖的字段只在不用 import 就能用时加注解
+            boolean annotateSerial = false;
+            if (generate) {
+                if (serial == null) {
+                    serial = importPlanner.plan(javaFile, Serial.class.getName());
                 }
-                WriteCommandAction.runWriteCommandAction(project, () -> {
-                    Set<String> importedList = try2ImportNeed2Import(Serial.class.getName(),javaFile, importList, project,factory);
-                    generateSerId(importedList,project,psiClass);
-                });
+                annotateSerial = replace ? serial.isUsableWithoutImport() : serial.isAvailable();
+            }
+            // 计算时把即将加上的 Serializable 算进去, 和先写 implements 再计算的结果一致
+            Long uid = generate ? SerialVersionUIDBuilder.computeDefaultSUID(psiClass, implement, context) : Long.valueOf(0L);
+            if (uid == null) {
+                // 开启了使用编译输出但 class 文件不是最新的, 整个类都不改, 统计里会提示先编译
+                continue;
             }
+            classPlans.add(new ClassGenPlan(classDescriptor.psiClass(),
+                    implement, replace, generate, annotateSerial, uid));
         }
+        List<SmartPsiElementPointer<PsiClass>> imports = new ArrayList<>(2);
+        if (serializable.needsImport() && classPlans.stream().anyMatch(ClassGenPlan::implementSerializable)) {
+            imports.add(serializable.psiClass());
+        }
+        if (serial != null && serial.needsImport() && classPlans.stream().anyMatch(ClassGenPlan::annotateSerial)) {
+            imports.add(serial.psiClass());
+        }
+        return new FileGenPlan(pointerManager.createSmartPsiElementPointer(javaFile),
+                javaFile.getModificationStamp(), rewriteSerId, imports,
+                serializable.referenceText(), serial == null ? Serial.class.getSimpleName() : serial.referenceText(), classPlans);
+    }
+
+    /**
+     * 把一个文件算好的改动放在一个写命令里写入, 撤销时只有一步. 需要在 EDT 上调用.
+     */
+    public static void applyPlan(Project project, FileGenPlan plan) {
+        applyPlans(project, Collections.singletonList(plan), null);
+    }
+
+    /**
+     * 把多个文件的改动放在同一个写命令里写入, 需要在 EDT 上调用.
+     *
+     * @param groupId 不为空时, 相同 groupId 的连续命令在撤销时合并成一步, 用于整次批量运行只撤销一次
+     */
+    public static void applyPlans(Project project, List<FileGenPlan> plans, @Nullable String groupId) {
+        List<PsiJavaFile> files = plans.stream()
+                .filter(plan -> !plan.isEmpty())
+                .map(plan -> plan.file().getElement())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (files.isEmpty()) {
+            return;
+        }
+        WriteCommandAction.writeCommandAction(project, files.toArray(PsiFile.EMPTY_ARRAY))
+                .withName(COMMAND_NAME)
+                .withGroupId(groupId)
+                .run(() -> plans.forEach(plan -> applyPlanInWriteAction(project, plan)));
+    }
+
+    /**
+     * 如果文件在计算之后被改过, 则按原来的类重新计算一次, 然后一次性写入 import, implements 和字段.
+     */
+    private static void applyPlanInWriteAction(Project project, FileGenPlan plan) {
+        PsiJavaFile javaFile = plan.file().getElement();
+        if (javaFile == null || plan.isEmpty()) {
+            return;
+        }
+        if (javaFile.getModificationStamp() != plan.modificationStamp()) {
+            List<PsiClass> classes = plan.classes().stream()
+                    .map(classPlan -> classPlan.psiClass().getElement())
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            plan = planFile(project, javaFile, classes, plan.rewriteSerId(), new SuidComputeContext());
+        }
+        PsiElementFactory factory = JavaPsiFacade.getInstance(project).getElementFactory();
+        addImports(javaFile, plan.imports(), factory);
+        for (ClassGenPlan classPlan : plan.classes()) {
+            PsiClass psiClass = classPlan.psiClass().getElement();
+            if (psiClass == null) {
+                continue;
+            }
+            // 接口实现
+            PsiReferenceList implementsList = psiClass.getImplementsList();
+            if (classPlan.implementSerializable() && implementsList != null) {
+                PsiJavaCodeReferenceElement ref =
+                        factory.createReferenceFromText(plan.serializableName(), psiClass);
+                implementsList.add(ref);
+            }
+            if (!classPlan.generateSerialId()) {
+                continue;
+            }
+            // 添加 serialVersionUID
+            if (classPlan.replaceSerialId()) {
+                findSerialVersionUID(psiClass).ifPresent(PsiElement::delete);
+            }
+            generateSerId(classPlan.annotateSerial() ? plan.serialName() : null, factory, psiClass, classPlan.serialId());
+        }
+    }
+
+    static Optional<PsiField> findSerialVersionUID(PsiClass psiClass) {
+        return Optional.ofNullable(psiClass.findFieldByName("serialVersionUID", false));
     }
 
 
@@ -88,32 +204,37 @@ public class SerializableImplAndSerialIdGen {
         if(psiClasses == null || psiClasses.isEmpty()){
             return 1;
         }
-        return psiClasses.stream().map(PsiClass::getFields)
-                .flatMap(Arrays::stream)
-                .filter(fields -> fields != null && fields.getName().equals("serialVersionUID"))
-                .findFirst().map(filed -> Messages.showYesNoDialog(
-                        project,
-                        "The file you selected already contains a serialVersionUID field. Would you like to regenerate it?",
-                        "Overwrite reminder",
-                        "Confirm",
-                        "Cancel",
-                        Messages.getQuestionIcon()
-                )).orElse(1);
+        long serialIds = psiClasses.stream().filter(psiClass -> findSerialVersionUID(psiClass).isPresent()).count();
+        return serialIds > 0 ? serIdOverwriteConfirm(project, (int) serialIds, 1) : 1;
     }
 
+    /**
+     * @param classCount 已经有 serialVersionUID 的类的个数
+     * @param fileCount  这些类所在的文件数
+     */
+    public static Integer serIdOverwriteConfirm(Project project, int classCount, int fileCount) {
+        return Messages.showYesNoDialog(
+                project,
+                classCount + " class(es) in " + fileCount + " file(s) you selected already contain a serialVersionUID field. "
+                        + "Would you like to regenerate them?",
+                "Overwrite reminder",
+                "Confirm",
+                "Cancel",
+                Messages.getQuestionIcon()
+        );
+    }
 
-    private static void generateSerId(Set<String> importedList, Project project,PsiClass psiClass){
 
-        PsiElementFactory factory = JavaPsiFacade.getInstance(project).getElementFactory();
+    /**
+     * @param serialAnnotation 注解名, 为 null 时不加 @Serial
+     */
+    private static void generateSerId(@Nullable String serialAnnotation, PsiElementFactory factory, PsiClass psiClass, long uid){
 
         StringBuilder sb = new StringBuilder();
-        if (importedList.contains(Serial.class.getName())) {
-            sb.append("@Serial\n");
+        if (serialAnnotation != null) {
+            sb.append('@').append(serialAnnotation).append('\n');
         }
 
-//        long uid = new java.util.Random().nextLong();
-        long uid = SerialVersionUIDBuilder.computeDefaultSUID(psiClass);
-
         sb.append("private static final long serialVersionUID = ").append(uid).append("L;");
 
         String fieldText = sb.toString();
@@ -128,25 +249,20 @@ public class SerializableImplAndSerialIdGen {
 
 
 
-    private static Set<String> try2ImportNeed2Import(String className,
-                                              PsiJavaFile javaFile,
-                                              PsiImportList importList,
-                                              Project project,
-                                              PsiElementFactory factory){
-        Set<String> importedClassNames = Arrays.stream(importList.getImportStatements()).map(PsiImportStatement::getQualifiedName).collect(Collectors.toSet());
-        if(!importedClassNames.contains(className)){
-            PsiClass serializableClass = JavaPsiFacade.getInstance(project)
-                    .findClass(className, javaFile.getResolveScope());
-            // 能找到的这个类那么则进行导入
-            if(Objects.nonNull(serializableClass)){
-                PsiImportStatement serializableClassImport = factory.createImportStatement(serializableClass);
-                importList.add(serializableClassImport);
-                importedClassNames.add(className);
+    /**
+     * 计算时已经确定要补的 import 一次加完, 已经存在的跳过
+     */
+    private static void addImports(PsiJavaFile javaFile, List<SmartPsiElementPointer<PsiClass>> imports, PsiElementFactory factory) {
+        PsiImportList importList = javaFile.getImportList();
+        if (importList == null || imports.isEmpty()) {
+            return;
+        }
+        for (SmartPsiElementPointer<PsiClass> pointer : imports) {
+            PsiClass psiClass = pointer.getElement();
+            if (psiClass != null && psiClass.getQualifiedName() != null
+                    && importList.findSingleClassImportStatement(psiClass.getQualifiedName()) == null) {
+                importList.add(factory.createImportStatement(psiClass));
             }
         }
-        return importedClassNames;
     }
-
-
 }
-
@@ -0,0 +1,124 @@
+package org.wx.quickserializableimpl.core;
+
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vcs.VcsException;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.wx.quickserializableimpl.RunStats;
+
+import java.util.UUID;
+
+/**
+ * 批量生成放到后台执行: 读线程里扫描, 在线程池里并行计算, 再分小批切回 EDT 串行写入, 支持进度和取消.
+ * 每个文件的改动要么全部写入要么完全不写, 取消后已经处理的文件保持完整.
+ *
+ * @author wuxin
+ * @date 2026/10/17 10:31:27
+ *
+ */
+public class SerializableImplAndSerialIdGenTask extends Task.Backgroundable {
+
+    private final SerialIdGenPipeline pipeline;
+
+    private final boolean changedFilesOnly;
+
+    private boolean nothingGenerated;
+
+    private RunStats stats;
+
+    public SerializableImplAndSerialIdGenTask(@NotNull Project project, VirtualFile[] virtualFiles) {
+        this(project, virtualFiles, null);
+    }
+
+    /**
+     * @param changedFilesScope 不为 null 时只处理选中范围内在 VCS 中有改动的文件
+     */
+    public SerializableImplAndSerialIdGenTask(@NotNull Project project, VirtualFile[] virtualFiles,
+                                              @Nullable ChangedFilesScope changedFilesScope) {
+        super(project, "Generating serialVersionUID", true);
+        this.changedFilesOnly = changedFilesScope != null;
+        // 整次运行的所有写命令共用一个 groupId, 撤销时合并成一步
+        this.pipeline = new SerialIdGenPipeline(project, virtualFiles, changedFilesScope,
+                "SerializableImplAndSerialIdGen." + UUID.randomUUID(), false);
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        Project project = getProject();
+        SerialIdGenPipeline.Result result;
+        try {
+            result = pipeline.run(indicator, (classCount, fileCount) -> {
+                Integer[] confirm = new Integer[1];
+                ApplicationManager.getApplication().invokeAndWait(
+                        () -> confirm[0] = SerializableImplAndSerialIdGen.serIdOverwriteConfirm(project, classCount, fileCount),
+                        ModalityState.defaultModalityState());
+                return confirm[0];
+            });
+        } catch (VcsException e) {
+            nothingGenerated = true;
+            Notifications.Bus.notify(
+                    new Notification(
+                            "SerializableImplement",
+                            "Unable to collect changed files",
+                            e.getMessage(),
+                            NotificationType.ERROR
+                    ), project
+            );
+            return;
+        }
+        stats = result.stats();
+        if (result.isNothingToGenerate()) {
+            notifyNothingToGenerate(project);
+        }
+    }
+
+    private void notifyNothingToGenerate(Project project) {
+        nothingGenerated = true;
+        Notifications.Bus.notify(
+                new Notification(
+                        "SerializableImplement",
+                        "Unable to generate",
+                        changedFilesOnly
+                                ? "No changed Java classes in the selected files or folders!"
+                                : "Please select a Java class or a folder containing Java classes！",
+                        NotificationType.WARNING
+                ), project
+        );
+    }
+
+    @Override
+    public void onSuccess() {
+        if (nothingGenerated) {
+            return;
+        }
+        Notifications.Bus.notify(
+                new Notification(
+                        "SerializableImplement",
+                        "Generated successfully.",
+                        "All Java classes have completed the implementation of the serialization interface and the generation of serialization IDs!"
+                                + (stats == null ? "" : "<br>" + stats.toSummary()),
+                        NotificationType.INFORMATION
+                ), getProject()
+        );
+    }
+
+    @Override
+    public void onCancel() {
+        Notifications.Bus.notify(
+                new Notification(
+                        "SerializableImplement",
+                        "Generation cancelled.",
+                        "Generation was cancelled, " + pipeline.getProcessedFiles() + " file(s) have already been processed.",
+                        NotificationType.WARNING
+                ), getProject()
+        );
+    }
+}
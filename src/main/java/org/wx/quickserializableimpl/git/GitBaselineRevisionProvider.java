@@ -0,0 +1,58 @@
+package org.wx.quickserializableimpl.git;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vcs.VcsException;
+import com.intellij.openapi.vfs.VirtualFile;
+import git4idea.commands.Git;
+import git4idea.commands.GitCommand;
+import git4idea.commands.GitLineHandler;
+import git4idea.util.GitFileUtils;
+import org.jetbrains.annotations.Nullable;
+import org.wx.quickserializableimpl.core.BaselineRevisionProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 用 git rev-parse 解析基线提交, 用 git diff 列出删除的文件, 用 git show 读取文件在基线提交中的内容.
+ *
+ * @author wuxin
+ * @date 2026/10/17 23:22:05
+ *
+ */
+public class GitBaselineRevisionProvider implements BaselineRevisionProvider {
+
+    @Override
+    public String resolveRevision(Project project, VirtualFile root, String ref) throws VcsException {
+        return run(project, root, GitCommand.REV_PARSE, "--verify", ref + "^{commit}").trim();
+    }
+
+    @Override
+    public List<String> collectDeletedPaths(Project project, VirtualFile root, String revision) throws VcsException {
+        // 不检测改名, 改名之前的路径也会列出来; -z 输出以 \0 分隔, 路径不会被转义
+        String output = run(project, root, GitCommand.DIFF, "--name-only", "--no-renames", "--diff-filter=D", "-z", revision, "--");
+        List<String> paths = new ArrayList<>();
+        for (String path : output.split("[\0\n]")) {
+            if (!path.isEmpty()) {
+                paths.add(path);
+            }
+        }
+        return paths;
+    }
+
+    @Override
+    public byte @Nullable [] loadContent(Project project, VirtualFile root, String revision, String relativePath) throws VcsException {
+        // 先确认文件在基线提交中存在, 避免把 "路径不存在" 当成错误
+        if (run(project, root, GitCommand.LS_TREE, "--name-only", revision, "--", relativePath).isBlank()) {
+            return null;
+        }
+        return GitFileUtils.getFileContent(project, root, revision, relativePath);
+    }
+
+    private static String run(Project project, VirtualFile root, GitCommand command, String... parameters) throws VcsException {
+        GitLineHandler handler = new GitLineHandler(project, root, command);
+        handler.setSilent(true);
+        handler.addParameters(parameters);
+        return Git.getInstance().runCommand(handler).getOutputOrThrow();
+    }
+}
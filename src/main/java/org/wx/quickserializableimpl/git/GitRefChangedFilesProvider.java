@@ -0,0 +1,53 @@
+package org.wx.quickserializableimpl.git;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vcs.VcsException;
+import com.intellij.openapi.vfs.VirtualFile;
+import git4idea.commands.Git;
+import git4idea.commands.GitCommand;
+import git4idea.commands.GitLineHandler;
+import git4idea.repo.GitRepository;
+import git4idea.repo.GitRepositoryManager;
+import org.wx.quickserializableimpl.core.RefChangedFilesProvider;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 用 git diff 列出工作区相对 ref 的改动, 项目有多个仓库时逐个仓库对比.
+ *
+ * @author wuxin
+ * @date 2026/10/17 22:47:09
+ *
+ */
+public class GitRefChangedFilesProvider implements RefChangedFilesProvider {
+
+    @Override
+    public Collection<VirtualFile> collectChangedFiles(Project project, String ref) throws VcsException {
+        Set<VirtualFile> files = new LinkedHashSet<>();
+        for (GitRepository repository : GitRepositoryManager.getInstance(project).getRepositories()) {
+            VirtualFile root = repository.getRoot();
+            // 已提交和未提交的改动; 删除的文件没有 VirtualFile, 由 BaselineRevisionProvider#collectDeletedPaths 单独列出
+            collect(project, root, GitCommand.DIFF, files, "--name-only", "--no-renames", "--diff-filter=d", "-z", ref, "--");
+            // git diff 不包含未加入版本控制的新文件
+            collect(project, root, GitCommand.LS_FILES, files, "--others", "--exclude-standard", "-z");
+        }
+        return files;
+    }
+
+    private static void collect(Project project, VirtualFile root, GitCommand command, Set<VirtualFile> files,
+                                String... parameters) throws VcsException {
+        GitLineHandler handler = new GitLineHandler(project, root, command);
+        handler.setSilent(true);
+        handler.addParameters(parameters);
+        String output = Git.getInstance().runCommand(handler).getOutputOrThrow();
+        // -z 输出以 \0 分隔, 路径不会被转义
+        for (String path : output.split("[\0\n]")) {
+            VirtualFile file = path.isEmpty() ? null : root.findFileByRelativePath(path);
+            if (file != null) {
+                files.add(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.wx.quickserializableimpl.headless;
+
+import com.intellij.ide.impl.ProjectUtil;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ApplicationStarter;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vcs.VcsException;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.wx.quickserializableimpl.core.ChangedFilesScope;
+import org.wx.quickserializableimpl.core.SerialIdGenPipeline;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 无界面批量模式, 用于在 CI 中对整个仓库运行:
+ * <pre>
+ * idea serialIdGen &lt;projectPath&gt; [--scope &lt;dir&gt;]... [--changed-since &lt;ref&gt;] [--overwrite]
+ * </pre>
+ * 不指定 --scope 时处理项目的全部源码目录; --changed-since 表示只处理相对 ref 有改动的文件, 需要 Git 插件;
+ * --overwrite 表示覆盖已有的 serialVersionUID.
+ * 每批写入后立即保存, 未保存的文档不会在内存中累积, 处理完输出统计并退出.
+ *
+ * @author wuxin
+ * @date 2026/10/17 18:24:40
+ *
+ */
+public class SerialIdGenStarter implements ApplicationStarter {
+
+    private static final int EXIT_OK = 0;
+
+    private static final int EXIT_USAGE = 1;
+
+    private static final int EXIT_FAILED = 2;
+
+    @Override
+    public int getRequiredModality() {
+        return NOT_IN_EDT;
+    }
+
+    @Override
+    public void main(@NotNull List<String> args) {
+        System.exit(run(args));
+    }
+
+    private static int run(List<String> args) {
+        // 第一个参数是命令名
+        Path projectPath = null;
+        List<String> scopes = new ArrayList<>();
+        boolean overwrite = false;
+        String changedSince = null;
+        for (int i = 1; i < args.size(); i++) {
+            String arg = args.get(i);
+            if ("--overwrite".equals(arg)) {
+                overwrite = true;
+            } else if ("--scope".equals(arg) && i + 1 < args.size()) {
+                scopes.add(args.get(++i));
+            } else if ("--changed-since".equals(arg) && i + 1 < args.size()) {
+                changedSince = args.get(++i);
+            } else if (projectPath == null && !arg.startsWith("--")) {
+                projectPath = Path.of(arg).toAbsolutePath().normalize();
+            } else {
+                return usage("Unknown argument: " + arg);
+            }
+        }
+        if (projectPath == null) {
+            return usage("Project path is required");
+        }
+
+        Project project = ProjectUtil.openOrImport(projectPath, null, false);
+        if (project == null) {
+            System.err.println("Unable to open project: " + projectPath);
+            return EXIT_FAILED;
+        }
+        try {
+            DumbService.getInstance(project).waitForSmartMode();
+            VirtualFile[] roots = resolveRoots(project, projectPath, scopes);
+            if (roots == null) {
+                return EXIT_USAGE;
+            }
+
+            long start = System.currentTimeMillis();
+            ProgressIndicator indicator = new EmptyProgressIndicator();
+            ChangedFilesScope changedFilesScope = changedSince == null ? null
+                    : new ChangedFilesScope(ChangedFilesScope.Kind.DIFF_AGAINST_REF, changedSince);
+            SerialIdGenPipeline pipeline = new SerialIdGenPipeline(project, roots, changedFilesScope,
+                    "SerializableImplAndSerialIdGen." + UUID.randomUUID(), true);
+            int rewriteSerId = overwrite ? Messages.YES : Messages.NO;
+            SerialIdGenPipeline.Result result = ProgressManager.getInstance().runProcess(
+                    () -> runPipeline(pipeline, indicator, rewriteSerId), indicator);
+            ApplicationManager.getApplication().invokeAndWait(() -> FileDocumentManager.getInstance().saveAllDocuments());
+
+            System.out.println("Java files scanned:  " + result.scannedFiles());
+            System.out.println("Files with classes:  " + result.classFiles());
+            System.out.println("Files modified:      " + result.processedFiles());
+            System.out.println("Elapsed:             " + (System.currentTimeMillis() - start) + " ms");
+            System.out.println(result.stats().toSummary());
+            return EXIT_OK;
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof VcsException vcsException) {
+                System.err.println("Unable to collect changed files: " + vcsException.getMessage());
+            } else {
+                e.printStackTrace(System.err);
+            }
+            return EXIT_FAILED;
+        } finally {
+            ApplicationManager.getApplication().invokeAndWait(() -> ProjectManager.getInstance().closeAndDispose(project));
+        }
+    }
+
+    private static SerialIdGenPipeline.Result runPipeline(SerialIdGenPipeline pipeline, ProgressIndicator indicator,
+                                                          int rewriteSerId) {
+        try {
+            return pipeline.run(indicator, (classCount, fileCount) -> rewriteSerId);
+        } catch (VcsException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static VirtualFile[] resolveRoots(Project project, Path projectPath, List<String> scopes) {
+        if (scopes.isEmpty()) {
+            return ProjectRootManager.getInstance(project).getContentSourceRoots();
+        }
+        List<VirtualFile> roots = new ArrayList<>(scopes.size());
+        for (String scope : scopes) {
+            Path path = projectPath.resolve(scope).normalize();
+            VirtualFile root = LocalFileSystem.getInstance().refreshAndFindFileByNioFile(path);
+            if (root == null) {
+                System.err.println("Scope not found: " + path);
+                return null;
+            }
+            roots.add(root);
+        }
+        return roots.toArray(VirtualFile.EMPTY_ARRAY);
+    }
+
+    private static int usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: serialIdGen <projectPath> [--scope <dir>]... [--changed-since <ref>] [--overwrite]");
+        return EXIT_USAGE;
+    }
+}
@@ -0,0 +1,131 @@
+package org.wx.quickserializableimpl.inspection;
+
+import com.intellij.codeInsight.intention.preview.IntentionPreviewInfo;
+import com.intellij.codeInspection.AbstractBaseJavaLocalInspectionTool;
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.codeInspection.options.OptPane;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.psi.*;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtil;
+import org.jetbrains.annotations.NotNull;
+import org.wx.quickserializableimpl.SerialVersionUIDBuilder;
+import org.wx.quickserializableimpl.core.SerializableImplAndSerialIdGen;
+
+import java.io.Serializable;
+import java.util.Collections;
+
+/**
+ * 检查具体类是否缺少 Serializable, 是否缺少 serialVersionUID, 以及已有的值是否和计算出的默认值不同.
+ * 默认值使用类上缓存的结果, 只有类自己或者父类型所在的文件变化之后才重新计算, 编辑其他文件时不会重新哈希.
+ *
+ * @author wuxin
+ * @date 2026/10/17 19:20:45
+ *
+ */
+public class SerialVersionUIDInspection extends AbstractBaseJavaLocalInspectionTool {
+
+    private static final String SERIAL_VERSION_UID = "serialVersionUID";
+
+    /**
+     * 报告没有实现 Serializable 的具体类
+     */
+    public boolean reportNotSerializable = true;
+
+    /**
+     * 报告和计算出的默认值不同的 serialVersionUID
+     */
+    public boolean reportStaleValue = true;
+
+    @Override
+    public @NotNull OptPane getOptionsPane() {
+        return OptPane.pane(
+                OptPane.checkbox("reportNotSerializable", "Report classes that do not implement Serializable"),
+                OptPane.checkbox("reportStaleValue", "Report serialVersionUID that differs from the computed default"));
+    }
+
+    @Override
+    public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+        return new JavaElementVisitor() {
+            @Override
+            public void visitClass(@NotNull PsiClass psiClass) {
+                PsiIdentifier nameIdentifier = psiClass.getNameIdentifier();
+                if (nameIdentifier == null || psiClass.isInterface() || psiClass.isEnum() || psiClass.isRecord()
+                        || psiClass.hasModifierProperty(PsiModifier.ABSTRACT)
+                        || psiClass instanceof PsiAnonymousClass || PsiUtil.isLocalClass(psiClass)) {
+                    return;
+                }
+                if (!InheritanceUtil.isInheritor(psiClass, Serializable.class.getName())) {
+                    if (reportNotSerializable) {
+                        holder.registerProblem(nameIdentifier, "Class '" + psiClass.getName() + "' does not implement Serializable",
+                                new GenerateFix("Implement Serializable and generate serialVersionUID"));
+                    }
+                    return;
+                }
+                PsiField field = psiClass.findFieldByName(SERIAL_VERSION_UID, false);
+                if (field == null) {
+                    holder.registerProblem(nameIdentifier, "Serializable class '" + psiClass.getName() + "' has no serialVersionUID",
+                            new GenerateFix("Generate serialVersionUID"));
+                    return;
+                }
+                PsiExpression initializer = field.getInitializer();
+                if (!reportStaleValue || initializer == null || !(field.computeConstantValue() instanceof Long value)) {
+                    return;
+                }
+                // 使用编译输出但 class 文件不是最新时算不出准确的值, 不报告
+                Long computed = SerialVersionUIDBuilder.computeDefaultSUID(psiClass);
+                if (computed != null && value.longValue() != computed) {
+                    holder.registerProblem(initializer, "serialVersionUID differs from the computed default",
+                            new GenerateFix("Regenerate serialVersionUID"));
+                }
+            }
+        };
+    }
+
+    /**
+     * 复用批量生成的逻辑处理当前类, 已有的 serialVersionUID 直接覆盖
+     */
+    private static class GenerateFix implements LocalQuickFix {
+
+        private final String name;
+
+        GenerateFix(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public @NotNull String getName() {
+            return name;
+        }
+
+        @Override
+        public @NotNull String getFamilyName() {
+            return "Implement Serializable and generate serialVersionUID";
+        }
+
+        @Override
+        public boolean startInWriteAction() {
+            // 生成逻辑自己开写命令
+            return false;
+        }
+
+        @Override
+        public @NotNull IntentionPreviewInfo generatePreview(@NotNull Project project, @NotNull ProblemDescriptor previewDescriptor) {
+            return IntentionPreviewInfo.EMPTY;
+        }
+
+        @Override
+        public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+            PsiClass psiClass = PsiTreeUtil.getParentOfType(descriptor.getPsiElement(), PsiClass.class, false);
+            if (psiClass == null) {
+                return;
+            }
+            SerializableImplAndSerialIdGen.doSerializableImplAndSerialIdGen(project, psiClass.getContainingFile(),
+                    Collections.singletonList(psiClass), Messages.YES);
+        }
+    }
+}
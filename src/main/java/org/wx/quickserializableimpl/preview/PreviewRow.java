@@ -0,0 +1,26 @@
+package org.wx.quickserializableimpl.preview;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.SmartPsiElementPointer;
+
+/**
+ * 预览表格中的一行, 对应一个会被修改的类. 展示用的文字在计算计划时一起生成, 绘制表格时不访问 PSI.
+ *
+ * @param psiClass         双击时跳转的类
+ * @param fileName         所在文件
+ * @param className        全限定名
+ * @param change           改动说明
+ * @param serialVersionUID 生成的值, 覆盖时包含原来的值
+ * @param imports          文件需要补的 import
+ *
+ * @author wuxin
+ * @date 2026/10/18 01:21:36
+ *
+ */
+record PreviewRow(SmartPsiElementPointer<PsiClass> psiClass,
+                  String fileName,
+                  String className,
+                  String change,
+                  String serialVersionUID,
+                  String imports) {
+}
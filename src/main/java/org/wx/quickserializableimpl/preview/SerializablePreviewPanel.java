@@ -0,0 +1,272 @@
+package org.wx.quickserializableimpl.preview;
+
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vcs.VcsException;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.ui.DoubleClickListener;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.TableSpeedSearch;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.PsiNavigateUtil;
+import com.intellij.util.ui.ColumnInfo;
+import com.intellij.util.ui.JBUI;
+import com.intellij.util.ui.ListTableModel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.wx.quickserializableimpl.RunStats;
+import org.wx.quickserializableimpl.core.ClassGenPlan;
+import org.wx.quickserializableimpl.core.FileGenPlan;
+import org.wx.quickserializableimpl.core.SerialIdGenPipeline;
+import org.wx.quickserializableimpl.core.SerializableImplAndSerialIdGen;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 批量生成的预览: 在后台计算所有文件的改动计划, 每算完一块就追加到表格中, 计算期间表格可以正常浏览.
+ * 点击 Apply 时直接写入算好的计划, 不重新计算; 计算之后被修改过的文件在写入时单独重算.
+ * 关闭标签页时取消还没完成的计算.
+ *
+ * @author wuxin
+ * @date 2026/10/18 01:28:04
+ *
+ */
+class SerializablePreviewPanel extends JPanel implements Disposable {
+
+    private static final String SERIAL_VERSION_UID = "serialVersionUID";
+
+    private final Project project;
+
+    private final SerialIdGenPipeline pipeline;
+
+    private final ListTableModel<PreviewRow> model = new ListTableModel<>(
+            column("File", PreviewRow::fileName),
+            column("Class", PreviewRow::className),
+            column("Change", PreviewRow::change),
+            column(SERIAL_VERSION_UID, PreviewRow::serialVersionUID),
+            column("Imports", PreviewRow::imports));
+
+    /**
+     * 已经算好的计划, 只在 EDT 中访问
+     */
+    private final List<FileGenPlan> plans = new ArrayList<>();
+
+    private final JBLabel statusLabel = new JBLabel();
+
+    private final JButton applyButton = new JButton("Apply");
+
+    private volatile ProgressIndicator previewIndicator;
+
+    /**
+     * 计算阶段的统计, 写入时继续累加
+     */
+    private volatile RunStats stats;
+
+    private volatile boolean disposed;
+
+    SerializablePreviewPanel(Project project, VirtualFile[] roots) {
+        super(new BorderLayout());
+        this.project = project;
+        // 预览和写入属于同一次运行, 写命令共用一个 groupId, 统计也合在一起
+        this.pipeline = new SerialIdGenPipeline(project, roots, "SerializableImplAndSerialIdGen." + UUID.randomUUID(), false);
+
+        JBTable table = new JBTable(model);
+        table.setShowGrid(false);
+        new TableSpeedSearch(table);
+        new DoubleClickListener() {
+            @Override
+            protected boolean onDoubleClick(@NotNull MouseEvent event) {
+                int row = table.getSelectedRow();
+                PsiClass psiClass = row < 0 ? null : model.getItem(table.convertRowIndexToModel(row)).psiClass().getElement();
+                if (psiClass == null) {
+                    return false;
+                }
+                PsiNavigateUtil.navigate(psiClass);
+                return true;
+            }
+        }.installOn(table);
+
+        applyButton.setEnabled(false);
+        applyButton.addActionListener(e -> apply());
+        JPanel header = new JPanel(new FlowLayout(FlowLayout.LEFT, JBUI.scale(8), 0));
+        header.setBorder(JBUI.Borders.empty(4));
+        header.add(applyButton);
+        header.add(statusLabel);
+        add(header, BorderLayout.NORTH);
+        add(ScrollPaneFactory.createScrollPane(table), BorderLayout.CENTER);
+    }
+
+    private static ColumnInfo<PreviewRow, String> column(String name, Function<PreviewRow, String> value) {
+        return new ColumnInfo<>(name) {
+            @Override
+            public @Nullable String valueOf(PreviewRow row) {
+                return value.apply(row);
+            }
+        };
+    }
+
+    /**
+     * 一个文件的计划和对应的表格行
+     */
+    private record PreviewFile(FileGenPlan plan, List<PreviewRow> rows) {
+    }
+
+    /**
+     * 开始在后台计算, 在 EDT 中调用
+     */
+    void start() {
+        statusLabel.setText("Computing changes...");
+        new Task.Backgroundable(project, "Previewing serialVersionUID changes", true) {
+
+            private String error;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                previewIndicator = indicator;
+                if (disposed) {
+                    indicator.cancel();
+                }
+                try {
+                    stats = pipeline.plan(indicator, (classCount, fileCount) -> {
+                        Integer[] confirm = new Integer[1];
+                        ApplicationManager.getApplication().invokeAndWait(
+                                () -> confirm[0] = SerializableImplAndSerialIdGen.serIdOverwriteConfirm(project, classCount, fileCount),
+                                ModalityState.defaultModalityState());
+                        return confirm[0];
+                    }, SerializablePreviewPanel::describe, files -> ApplicationManager.getApplication().invokeLater(
+                            () -> addFiles(files), ModalityState.any())).stats();
+                } catch (VcsException e) {
+                    error = e.getMessage();
+                }
+            }
+
+            @Override
+            public void onSuccess() {
+                if (error != null) {
+                    statusLabel.setText("Unable to collect changed files: " + error);
+                } else if (plans.isEmpty()) {
+                    statusLabel.setText("Nothing to change");
+                } else {
+                    statusLabel.setText(model.getRowCount() + " class(es) in " + plans.size() + " file(s) will change");
+                    applyButton.setEnabled(true);
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                statusLabel.setText("Preview cancelled, " + model.getRowCount() + " class(es) computed");
+            }
+        }.queue();
+    }
+
+    private void addFiles(List<PreviewFile> files) {
+        if (disposed) {
+            return;
+        }
+        List<PreviewRow> rows = new ArrayList<>();
+        for (PreviewFile file : files) {
+            plans.add(file.plan());
+            rows.addAll(file.rows());
+        }
+        // 一块只触发一次表格更新, 几万行时也不会卡顿
+        model.addRows(rows);
+        statusLabel.setText("Computing changes... " + model.getRowCount() + " class(es) in " + plans.size() + " file(s) so far");
+    }
+
+    /**
+     * 在计算计划的读操作中调用, 生成展示用的文字
+     */
+    private static PreviewFile describe(FileGenPlan plan) {
+        PsiJavaFile javaFile = plan.file().getElement();
+        String fileName = javaFile == null ? "" : javaFile.getName();
+        String imports = plan.imports().stream()
+                .map(SmartPsiElementPointer::getElement)
+                .filter(Objects::nonNull)
+                .map(PsiClass::getQualifiedName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(", "));
+        List<PreviewRow> rows = new ArrayList<>();
+        for (ClassGenPlan classPlan : plan.classes()) {
+            PsiClass psiClass = classPlan.psiClass().getElement();
+            if (classPlan.isEmpty() || psiClass == null) {
+                continue;
+            }
+            List<String> changes = new ArrayList<>();
+            if (classPlan.implementSerializable()) {
+                changes.add("implements Serializable");
+            }
+            String serialId = "";
+            if (classPlan.generateSerialId()) {
+                changes.add(classPlan.replaceSerialId() ? "rewrite " + SERIAL_VERSION_UID : "add " + SERIAL_VERSION_UID);
+                serialId = classPlan.serialId() + "L";
+                PsiField field = psiClass.findFieldByName(SERIAL_VERSION_UID, false);
+                if (classPlan.replaceSerialId() && field != null && field.computeConstantValue() instanceof Number current) {
+                    serialId = current.longValue() + "L → " + serialId;
+                }
+            }
+            String className = psiClass.getQualifiedName() != null ? psiClass.getQualifiedName() : String.valueOf(psiClass.getName());
+            rows.add(new PreviewRow(classPlan.psiClass(), fileName, className, String.join(", ", changes), serialId, imports));
+        }
+        return new PreviewFile(plan, rows);
+    }
+
+    private void apply() {
+        applyButton.setEnabled(false);
+        List<FileGenPlan> toApply = new ArrayList<>(plans);
+        statusLabel.setText("Applying changes...");
+        new Task.Backgroundable(project, "Generating serialVersionUID", true) {
+
+            private int written;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                written = pipeline.apply(toApply, indicator);
+            }
+
+            @Override
+            public void onSuccess() {
+                statusLabel.setText("Applied, " + written + " file(s) written");
+                Notifications.Bus.notify(
+                        new Notification(
+                                "SerializableImplement",
+                                "Generated successfully.",
+                                written + " file(s) written from the preview."
+                                        + (stats == null ? "" : "<br>" + stats.toSummary()),
+                                NotificationType.INFORMATION
+                        ), project
+                );
+            }
+
+            @Override
+            public void onCancel() {
+                statusLabel.setText("Apply cancelled, " + pipeline.getProcessedFiles() + " file(s) have already been written");
+            }
+        }.queue();
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        ProgressIndicator indicator = previewIndicator;
+        if (indicator != null) {
+            indicator.cancel();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.wx.quickserializableimpl.preview;
+
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.openapi.wm.ToolWindowManager;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 预览工具窗口, 每次预览一个标签页. 第一次预览之前不显示.
+ *
+ * @author wuxin
+ * @date 2026/10/18 01:40:52
+ *
+ */
+public class SerializablePreviewToolWindowFactory implements ToolWindowFactory, DumbAware {
+
+    public static final String ID = "Serializable Preview";
+
+    @Override
+    public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
+        // 标签页在每次预览时添加
+    }
+
+    @Override
+    public boolean shouldBeAvailable(@NotNull Project project) {
+        return false;
+    }
+
+    /**
+     * 为选中的文件打开一个新的预览标签页并开始计算, 在 EDT 中调用
+     */
+    public static void showPreview(Project project, VirtualFile[] roots) {
+        ToolWindow toolWindow = ToolWindowManager.getInstance(project).getToolWindow(ID);
+        if (toolWindow == null) {
+            return;
+        }
+        SerializablePreviewPanel panel = new SerializablePreviewPanel(project, roots);
+        String title = roots.length == 1 ? roots[0].getName() : roots.length + " items";
+        Content content = ContentFactory.getInstance().createContent(panel, title, false);
+        content.setDisposer(panel);
+        toolWindow.setAvailable(true);
+        toolWindow.getContentManager().addContent(content);
+        toolWindow.getContentManager().setSelectedContent(content);
+        toolWindow.activate(panel::start);
+    }
+}
@@ -0,0 +1,75 @@
+package org.wx.quickserializableimpl.settings;
+
+import com.intellij.openapi.options.Configurable;
+import com.intellij.ui.JBIntSpinner;
+import com.intellij.ui.components.JBCheckBox;
+import com.intellij.util.ui.FormBuilder;
+import org.jetbrains.annotations.Nls;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+
+/**
+ * Settings | Tools | Quick Serializable Impl 设置页.
+ *
+ * @author wuxin
+ * @date 2026/10/17 14:46:52
+ *
+ */
+public class SerialIdGenConfigurable implements Configurable {
+
+    private JBIntSpinner parallelismSpinner;
+
+    private JBCheckBox useCompiledClassesCheckBox;
+
+    private JBCheckBox updateOnSaveCheckBox;
+
+    @Override
+    public @Nls(capitalization = Nls.Capitalization.Title) String getDisplayName() {
+        return "Quick Serializable Impl";
+    }
+
+    @Override
+    public @Nullable JComponent createComponent() {
+        parallelismSpinner = new JBIntSpinner(0, 0, 256);
+        useCompiledClassesCheckBox = new JBCheckBox("Compute serialVersionUID from compiled classes (JVM-exact, skips classes changed since the last build)");
+        updateOnSaveCheckBox = new JBCheckBox("Update generated serialVersionUID on save when the computed default changes");
+        return FormBuilder.createFormBuilder()
+                .addLabeledComponent("Parallelism (0 = CPU cores − 1):", parallelismSpinner)
+                .addComponent(useCompiledClassesCheckBox)
+                .addComponent(updateOnSaveCheckBox)
+                .addComponentFillVertically(new JPanel(), 0)
+                .getPanel();
+    }
+
+    @Override
+    public boolean isModified() {
+        SerialIdGenSettings.SettingsState state = SerialIdGenSettings.getInstance().getState();
+        return parallelismSpinner.getNumber() != state.parallelism
+                || useCompiledClassesCheckBox.isSelected() != state.useCompiledClasses
+                || updateOnSaveCheckBox.isSelected() != state.updateOnSave;
+    }
+
+    @Override
+    public void apply() {
+        SerialIdGenSettings.SettingsState state = SerialIdGenSettings.getInstance().getState();
+        state.parallelism = parallelismSpinner.getNumber();
+        state.useCompiledClasses = useCompiledClassesCheckBox.isSelected();
+        state.updateOnSave = updateOnSaveCheckBox.isSelected();
+    }
+
+    @Override
+    public void reset() {
+        SerialIdGenSettings.SettingsState state = SerialIdGenSettings.getInstance().getState();
+        parallelismSpinner.setNumber(state.parallelism);
+        useCompiledClassesCheckBox.setSelected(state.useCompiledClasses);
+        updateOnSaveCheckBox.setSelected(state.updateOnSave);
+    }
+
+    @Override
+    public void disposeUIResources() {
+        parallelismSpinner = null;
+        useCompiledClassesCheckBox = null;
+        updateOnSaveCheckBox = null;
+    }
+}
@@ -0,0 +1,78 @@
+package org.wx.quickserializableimpl.settings;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import org.jetbrains.annotations.NotNull;
+import org.wx.quickserializableimpl.core.ChangedFilesScope;
+
+/**
+ * 插件的全局设置.
+ *
+ * @author wuxin
+ * @date 2026/10/17 14:40:05
+ *
+ */
+@State(name = "QuickSerializableImplSettings", storages = @Storage("quickSerializableImpl.xml"))
+public class SerialIdGenSettings implements PersistentStateComponent<SerialIdGenSettings.SettingsState> {
+
+    public static class SettingsState {
+        /**
+         * 批量计算 serialVersionUID 的并行度, 小于等于 0 表示按 CPU 核数自动决定
+         */
+        public int parallelism = 0;
+
+        /**
+         * 只从编译输出的 class 文件计算 serialVersionUID, 和 JVM 的结果完全一致, class 文件不是最新的类跳过.
+         * 默认关闭: 和 PSI 计算的历史结果不同, 打开后已有的值会被认为过期
+         */
+        public boolean useCompiledClasses = false;
+
+        /**
+         * 保存文件时, 等于之前默认值的 serialVersionUID 跟着默认值更新, 手写的值不动, 默认关闭
+         */
+        public boolean updateOnSave = false;
+
+        /**
+         * 上次按改动运行时选择的范围
+         */
+        public ChangedFilesScope.Kind changedFilesScope = ChangedFilesScope.Kind.LOCAL_CHANGES;
+
+        /**
+         * 上次对比的 ref
+         */
+        public String changedFilesRef = "main";
+
+        /**
+         * 上次检查序列化兼容性时对比的基线, 通常是上一个发布标签
+         */
+        public String compatibilityBaselineRef = "";
+    }
+
+    private SettingsState state = new SettingsState();
+
+    public static SerialIdGenSettings getInstance() {
+        return ApplicationManager.getApplication().getService(SerialIdGenSettings.class);
+    }
+
+    @Override
+    public @NotNull SettingsState getState() {
+        return state;
+    }
+
+    @Override
+    public void loadState(@NotNull SettingsState state) {
+        this.state = state;
+    }
+
+    /**
+     * 实际使用的并行度, 自动模式下给 UI 线程留一个核
+     */
+    public int getEffectiveParallelism() {
+        if (state.parallelism > 0) {
+            return state.parallelism;
+        }
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+}
@@ -0,0 +1,74 @@
+package org.wx.quickserializableimpl;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 测量 EDT 被阻塞的时间: 每隔固定间隔往 EDT 投递一个空任务, 从投递到执行之间的延迟就是 EDT 被占用的时间.
+ * 同一时刻只有一个探测任务在排队, 记录单次最长阻塞和超过阈值的阻塞总和.
+ *
+ * @author wuxin
+ * @date 2026/10/18 00:27:19
+ *
+ */
+final class EdtBlockingMonitor implements AutoCloseable {
+
+    private static final long PROBE_INTERVAL_MILLIS = 10;
+
+    /**
+     * 低于这个值的延迟算作正常的调度开销
+     */
+    private static final long BLOCKING_THRESHOLD_MILLIS = 50;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "EdtBlockingMonitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean probePending = new AtomicBoolean();
+
+    private final LongAccumulator maxBlockingNanos = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder totalBlockingNanos = new LongAdder();
+
+    EdtBlockingMonitor() {
+        scheduler.scheduleWithFixedDelay(this::probe, 0, PROBE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void probe() {
+        if (!probePending.compareAndSet(false, true)) {
+            return;
+        }
+        long posted = System.nanoTime();
+        // 任意模态下都要执行, 否则确认对话框之类的模态状态会被算成阻塞
+        ApplicationManager.getApplication().invokeLater(() -> {
+            long delay = System.nanoTime() - posted;
+            maxBlockingNanos.accumulate(delay);
+            if (delay >= TimeUnit.MILLISECONDS.toNanos(BLOCKING_THRESHOLD_MILLIS)) {
+                totalBlockingNanos.add(delay);
+            }
+            probePending.set(false);
+        }, ModalityState.any());
+    }
+
+    long getMaxBlockingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxBlockingNanos.get());
+    }
+
+    long getTotalBlockingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalBlockingNanos.sum());
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
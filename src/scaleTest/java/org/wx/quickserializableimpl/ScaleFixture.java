@@ -0,0 +1,62 @@
+package org.wx.quickserializableimpl;
+
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.EdtTestUtil;
+import com.intellij.testFramework.VfsTestUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 规模测试用到的工程操作, fixture 本身由 {@link HeadlessFixture} 提供.
+ * 生成的源码直接写进 VFS, 不经过 PSI, 几万个文件也能很快建好.
+ *
+ * @author wuxin
+ * @date 2026/10/18 00:20:48
+ *
+ */
+final class ScaleFixture {
+
+    /**
+     * 每个写操作里创建的文件数
+     */
+    private static final int CREATE_BATCH_SIZE = 1000;
+
+    private ScaleFixture() {
+    }
+
+    static void tearDown() {
+        HeadlessFixture.tearDown();
+    }
+
+    static Project project() {
+        return HeadlessFixture.project();
+    }
+
+    /**
+     * 把源码写进源码根目录, 返回 rootPackage 对应的目录
+     */
+    static VirtualFile createSources(String rootPackage, Map<String, String> sources) {
+        VirtualFile sourceRoot = HeadlessFixture.get().getTempDirFixture().getFile("");
+        List<Map.Entry<String, String>> entries = new ArrayList<>(sources.entrySet());
+        for (int from = 0; from < entries.size(); from += CREATE_BATCH_SIZE) {
+            List<Map.Entry<String, String>> batch = entries.subList(from, Math.min(entries.size(), from + CREATE_BATCH_SIZE));
+            EdtTestUtil.runInEdtAndWait(() -> WriteAction.run(() -> {
+                for (Map.Entry<String, String> entry : batch) {
+                    VfsTestUtil.createFile(sourceRoot, entry.getKey(), entry.getValue());
+                }
+            }));
+        }
+        return HeadlessFixture.get().getTempDirFixture().getFile(rootPackage.replace('.', '/'));
+    }
+
+    /**
+     * 删除上一个规模生成的文件, 避免后面的规模受到影响
+     */
+    static void delete(VirtualFile root) {
+        EdtTestUtil.runInEdtAndWait(() -> WriteAction.run(() -> root.delete(ScaleFixture.class)));
+    }
+}
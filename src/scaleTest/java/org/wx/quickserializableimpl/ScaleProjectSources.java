@@ -0,0 +1,125 @@
+package org.wx.quickserializableimpl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 规模测试用的合成工程, 结构和真实的业务代码接近:
+ * 每个包 500 个文件, 每 10 个文件一组, 组内有接口, 抽象基类, 已经合规的类, 实现了 Serializable 但没有
+ * serialVersionUID 的类和普通类; 基类之间最多串成 5 层的继承链, 每 4 个文件带一个静态嵌套类和一个内部类.
+ * 生成结果是确定的, 期望修改的文件数可以直接算出来.
+ *
+ * @param sources       相对路径 -> 源码
+ * @param modifiedFiles 不覆盖已有 serialVersionUID 时期望被修改的文件数
+ *
+ * @author wuxin
+ * @date 2026/10/18 00:12:35
+ *
+ */
+record ScaleProjectSources(Map<String, String> sources, int modifiedFiles) {
+
+    private static final int FILES_PER_PACKAGE = 500;
+
+    private static final int GROUP_SIZE = 10;
+
+    /**
+     * 每隔这么多组重新开始一条继承链
+     */
+    private static final int MAX_HIERARCHY_DEPTH = 5;
+
+    static ScaleProjectSources generate(String rootPackage, int fileCount) {
+        Map<String, String> sources = new LinkedHashMap<>();
+        int modifiedFiles = 0;
+        for (int i = 0; i < fileCount; i++) {
+            String pkg = rootPackage + ".p" + (i / FILES_PER_PACKAGE);
+            int group = (i % FILES_PER_PACKAGE) / GROUP_SIZE;
+            int kind = i % GROUP_SIZE;
+            String name = className(i, kind);
+            String source;
+            if (kind == 0) {
+                source = apiSource(pkg, name, i);
+            } else if (kind == 1) {
+                // 同一个包里前一组的基类作为父类, 形成继承链
+                String parent = group % MAX_HIERARCHY_DEPTH == 0 ? null : "Base" + (i - GROUP_SIZE);
+                source = classSource(pkg, name, i, "public abstract class", parent, false, false);
+                modifiedFiles++;
+            } else {
+                String parent = "Base" + (i - kind + 1);
+                boolean serializable = kind <= 5;
+                boolean hasSerialId = kind <= 3;
+                source = classSource(pkg, name, i, "public class", parent, serializable, hasSerialId);
+                if (!hasSerialId) {
+                    modifiedFiles++;
+                }
+            }
+            sources.put(pkg.replace('.', '/') + "/" + name + ".java", source);
+        }
+        return new ScaleProjectSources(sources, modifiedFiles);
+    }
+
+    private static String className(int index, int kind) {
+        return switch (kind) {
+            case 0 -> "Api" + index;
+            case 1 -> "Base" + index;
+            case 2, 3 -> "Record" + index;
+            case 4, 5 -> "Message" + index;
+            default -> "Entity" + index;
+        };
+    }
+
+    private static String apiSource(String pkg, String name, int index) {
+        return "package " + pkg + ";\n\n"
+                + "public interface " + name + (index % 20 == 0 ? " extends java.io.Serializable" : "") + " {\n"
+                + "    String describe();\n"
+                + "}\n";
+    }
+
+    /**
+     * @param serializable 顶层类和嵌套类都实现 Serializable
+     * @param hasSerialId  顶层类和嵌套类都已经有 serialVersionUID, 整个文件合规
+     */
+    private static String classSource(String pkg, String name, int index, String declaration, String parent,
+                                      boolean serializable, boolean hasSerialId) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(pkg).append(";\n\n");
+        sb.append("import java.math.BigDecimal;\n");
+        sb.append("import java.util.List;\n");
+        sb.append("import java.util.Map;\n\n");
+        sb.append(declaration).append(' ').append(name);
+        if (parent != null) {
+            sb.append(" extends ").append(parent);
+        }
+        if (serializable) {
+            sb.append(" implements java.io.Serializable");
+        }
+        sb.append(" {\n");
+        if (hasSerialId) {
+            sb.append("    private static final long serialVersionUID = ").append(index).append("L;\n");
+        }
+        sb.append("    public static final String TYPE = \"").append(name).append("\";\n");
+        sb.append("    private static final Map<String, Integer> DEFAULTS = new java.util.HashMap<>();\n");
+        sb.append("    private Long id").append(index).append(";\n");
+        sb.append("    private String name;\n");
+        sb.append("    protected List<String> tags;\n");
+        sb.append("    private transient BigDecimal amount;\n\n");
+        sb.append("    public ").append(name).append("() {\n    }\n\n");
+        sb.append("    public ").append(name).append("(String name, List<String> tags) {\n");
+        sb.append("        this.name = name;\n        this.tags = tags;\n    }\n\n");
+        sb.append("    public String getName() {\n        return name;\n    }\n\n");
+        sb.append("    public void setAmount(BigDecimal amount) {\n        this.amount = amount;\n    }\n\n");
+        sb.append("    protected Map<String, Integer> defaults(int[] keys, long... values) {\n        return DEFAULTS;\n    }\n");
+        if (index % 4 == 0) {
+            String nestedImplements = serializable ? " implements java.io.Serializable" : "";
+            String nestedSerialId = hasSerialId ? "        private static final long serialVersionUID = 1L;\n" : "";
+            sb.append("\n    public static class Key").append(nestedImplements).append(" {\n");
+            sb.append(nestedSerialId);
+            sb.append("        private long value;\n\n");
+            sb.append("        public long getValue() {\n            return value;\n        }\n    }\n");
+            sb.append("\n    public class Line").append(nestedImplements).append(" {\n");
+            sb.append(nestedSerialId);
+            sb.append("        private int quantity;\n    }\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+}
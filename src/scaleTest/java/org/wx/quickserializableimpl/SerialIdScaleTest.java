@@ -0,0 +1,163 @@
+package org.wx.quickserializableimpl;
+
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vcs.VcsException;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.Test;
+import org.wx.quickserializableimpl.core.SerialIdGenPipeline;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 文件夹批量生成的规模测试. 在 1k, 10k, 50k 个类的合成工程上跑完整的扫描, 计算和写入流程,
+ * 记录端到端耗时, 堆峰值, 写命令数和 EDT 阻塞时间, 超出预算时测试失败.
+ * check 只跑 1k (./gradlew scaleTest), 10k 和 50k 需要显式运行 ./gradlew scaleTestLarge,
+ * 或者指定规模: ./gradlew scaleTest -Pscale.sizes=1000,10000.
+ * 耗时预算按参考机器给出, 较慢的机器可以按比例放宽: -Pscale.timeFactor=2
+ *
+ * @author wuxin
+ * @date 2026/10/18 00:35:02
+ *
+ */
+public class SerialIdScaleTest {
+
+    /**
+     * 耗时预算(端到端和 EDT 阻塞)的放大倍数, 默认 1
+     */
+    private static final double TIME_FACTOR = Double.parseDouble(System.getProperty("scale.timeFactor", "1"));
+
+    /**
+     * 各个规模的预算, 改动导致超出预算时构建失败
+     *
+     * @param files                文件数, 每个文件一个顶层类
+     * @param wallMillis           参考机器上的端到端耗时上限, 实际按 {@link #TIME_FACTOR} 放大
+     * @param peakHeapMegabytes    运行期间堆峰值上限
+     * @param maxEdtBlockingMillis 参考机器上 EDT 单次阻塞的上限, 实际按 {@link #TIME_FACTOR} 放大
+     */
+    private record Budget(int files, long wallMillis, long peakHeapMegabytes, long maxEdtBlockingMillis) {
+    }
+
+    private static final Budget SMALL = new Budget(1_000, 30_000, 768, 300);
+
+    private static final Budget MEDIUM = new Budget(10_000, 180_000, 1_280, 300);
+
+    private static final Budget LARGE = new Budget(50_000, 900_000, 2_560, 300);
+
+    @AfterClass
+    public static void tearDownFixture() {
+        ScaleFixture.tearDown();
+    }
+
+    @Test
+    public void scale1k() {
+        runWithinBudget(SMALL);
+    }
+
+    @Test
+    public void scale10k() {
+        runWithinBudget(MEDIUM);
+    }
+
+    @Test
+    public void scale50k() {
+        runWithinBudget(LARGE);
+    }
+
+    private static void runWithinBudget(Budget budget) {
+        Assume.assumeTrue("scale " + budget.files() + " not selected", isSelected(budget.files()));
+        String rootPackage = "scale.s" + budget.files();
+        ScaleProjectSources project = ScaleProjectSources.generate(rootPackage, budget.files());
+        VirtualFile root = ScaleFixture.createSources(rootPackage, project.sources());
+        try {
+            resetPeakHeap();
+            SerialIdGenPipeline pipeline = new SerialIdGenPipeline(ScaleFixture.project(), new VirtualFile[]{root},
+                    "SerializableImplAndSerialIdGen." + UUID.randomUUID(), false);
+            ProgressIndicator indicator = new EmptyProgressIndicator();
+            long start = System.nanoTime();
+            SerialIdGenPipeline.Result result;
+            long maxEdtBlocking;
+            long totalEdtBlocking;
+            try (EdtBlockingMonitor monitor = new EdtBlockingMonitor()) {
+                result = ProgressManager.getInstance().runProcess(() -> run(pipeline, indicator), indicator);
+                maxEdtBlocking = monitor.getMaxBlockingMillis();
+                totalEdtBlocking = monitor.getTotalBlockingMillis();
+            }
+            long wallMillis = (System.nanoTime() - start) / 1_000_000;
+            long peakHeapMegabytes = getPeakHeap() >> 20;
+            long writeCommands = result.stats().getCount(RunStats.Counter.WRITE_COMMANDS);
+            long writeCommandBudget = (project.modifiedFiles() + SerialIdGenPipeline.WRITE_BATCH_SIZE - 1)
+                    / SerialIdGenPipeline.WRITE_BATCH_SIZE;
+            long wallBudget = scaled(budget.wallMillis());
+            long edtBudget = scaled(budget.maxEdtBlockingMillis());
+
+            System.out.printf("scale %d: wall %d ms, peak heap %d MB, write commands %d, EDT blocking max %d ms / total %d ms%n",
+                    budget.files(), wallMillis, peakHeapMegabytes, writeCommands, maxEdtBlocking, totalEdtBlocking);
+            System.out.println(result.stats().toSummary());
+
+            assertEquals("modified files", project.modifiedFiles(), result.processedFiles());
+            assertTrue("wall time " + wallMillis + " ms exceeds " + wallBudget + " ms",
+                    wallMillis <= wallBudget);
+            assertTrue("peak heap " + peakHeapMegabytes + " MB exceeds " + budget.peakHeapMegabytes() + " MB",
+                    peakHeapMegabytes <= budget.peakHeapMegabytes());
+            assertTrue("write commands " + writeCommands + " exceed " + writeCommandBudget,
+                    writeCommands <= writeCommandBudget);
+            assertTrue("EDT blocked for " + maxEdtBlocking + " ms, budget " + edtBudget + " ms",
+                    maxEdtBlocking <= edtBudget);
+        } finally {
+            ScaleFixture.delete(root);
+        }
+    }
+
+    private static SerialIdGenPipeline.Result run(SerialIdGenPipeline pipeline, ProgressIndicator indicator) {
+        try {
+            // 已经合规的文件不覆盖, 和默认的确认结果一致
+            return pipeline.run(indicator, (classCount, fileCount) -> Messages.NO);
+        } catch (VcsException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isSelected(int files) {
+        List<String> sizes = Arrays.asList(System.getProperty("scale.sizes", "1000").split(","));
+        return sizes.contains(String.valueOf(files));
+    }
+
+    private static long scaled(long millis) {
+        return Math.round(millis * TIME_FACTOR);
+    }
+
+    /**
+     * 先 GC 再清空各个堆内存池的峰值, 只统计这一次运行
+     */
+    private static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long getPeakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,175 @@
+package org.wx.quickserializableimpl;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * 用 javac 编译出的 class 文件验证 {@link ClassFileSuidReader} 和 {@link ObjectStreamClass} 的结果一致,
+ * 覆盖嵌套类, 内部类, 接口, 匿名类, 以及编译器生成的成员(this$0, 桥方法, $assertionsDisabled, lambda).
+ *
+ * @author wuxin
+ * @date 2026/10/18 09:12:40
+ *
+ */
+public class ClassFileSuidReaderTest {
+
+    static class StaticNested implements Serializable {
+        int count;
+        protected String name;
+        public static final int CONSTANT = 1;
+        private static int hidden;
+        transient Object cache;
+
+        public void run() {
+        }
+
+        protected int[][] matrix(String[] names, long value) {
+            return new int[0][];
+        }
+
+        private void ignored() {
+        }
+    }
+
+    /**
+     * 非静态内部类有编译器生成的 this$0 字段, 构造函数多一个外部类参数
+     */
+    class Inner implements Serializable {
+        private int value;
+
+        void touch() {
+            value++;
+        }
+    }
+
+    interface SerializableApi extends Serializable {
+        void call(List<String> values);
+    }
+
+    interface EmptyApi extends Serializable {
+    }
+
+    /**
+     * 实现泛型接口会生成 compareTo(Object) 桥方法
+     */
+    public static final class Bridged implements Serializable, Comparable<Bridged> {
+        @Override
+        public int compareTo(Bridged other) {
+            return 0;
+        }
+    }
+
+    /**
+     * assert 会生成 static final 的 $assertionsDisabled 字段和 &lt;clinit&gt;
+     */
+    static class Asserting implements Serializable {
+        void check(int value) {
+            assert value > 0;
+        }
+    }
+
+    /**
+     * lambda 生成 private static 的合成方法
+     */
+    static class WithLambda implements Serializable {
+        Supplier<String> supplier() {
+            return () -> "value";
+        }
+    }
+
+    /**
+     * 非编译期常量的静态字段生成 &lt;clinit&gt;
+     */
+    abstract static class WithStaticInitializer implements Serializable {
+        static final List<String> NAMES = new ArrayList<>();
+
+        protected WithStaticInitializer() {
+        }
+
+        WithStaticInitializer(int size, String... names) {
+        }
+
+        abstract void run();
+
+        synchronized void locked() {
+        }
+    }
+
+    @Test
+    public void staticNestedClass() throws IOException {
+        assertMatchesJvm(StaticNested.class);
+    }
+
+    @Test
+    public void innerClass() throws IOException {
+        assertMatchesJvm(Inner.class);
+    }
+
+    @Test
+    public void interfaces() throws IOException {
+        assertMatchesJvm(SerializableApi.class);
+        assertMatchesJvm(EmptyApi.class);
+    }
+
+    @Test
+    public void bridgeMethod() throws IOException {
+        assertMatchesJvm(Bridged.class);
+    }
+
+    @Test
+    public void assertionsDisabledField() throws IOException {
+        assertMatchesJvm(Asserting.class);
+    }
+
+    @Test
+    public void lambdaMethod() throws IOException {
+        assertMatchesJvm(WithLambda.class);
+    }
+
+    @Test
+    public void staticInitializerAndConstructors() throws IOException {
+        assertMatchesJvm(WithStaticInitializer.class);
+    }
+
+    @Test
+    public void anonymousAndLocalClasses() throws IOException {
+        Serializable anonymous = new Serializable() {
+            int value;
+        };
+        class Local implements Serializable {
+            String name;
+        }
+        assertMatchesJvm(anonymous.getClass());
+        assertMatchesJvm(Local.class);
+    }
+
+    @Test
+    public void assumeSerializableKeepsExistingInterface() throws IOException {
+        assertEquals(ClassFileSuidReader.computeDefaultSUID(read(StaticNested.class), false),
+                ClassFileSuidReader.computeDefaultSUID(read(StaticNested.class), true));
+    }
+
+    private static void assertMatchesJvm(Class<?> type) throws IOException {
+        ObjectStreamClass descriptor = ObjectStreamClass.lookup(type);
+        assertNotNull(type.getName(), descriptor);
+        assertEquals(type.getName(), descriptor.getSerialVersionUID(), ClassFileSuidReader.computeDefaultSUID(read(type), false));
+    }
+
+    private static ByteBuffer read(Class<?> type) throws IOException {
+        try (InputStream in = type.getResourceAsStream("/" + type.getName().replace('.', '/') + ".class")) {
+            assertNotNull(type.getName(), in);
+            return ByteBuffer.wrap(in.readAllBytes());
+        }
+    }
+}